@@ -0,0 +1,66 @@
+package com.coding.exercise.bankapp.benchmark;
+
+import com.coding.exercise.bankapp.model.Account;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BankingServiceImpl#findByAccountNumber} of random accounts, which is served from
+ * the account cache once warm, next to the uncached repository lookup it falls back to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountLookupBenchmark {
+
+    private static final Long CUSTOMER_NUMBER = 1L;
+    private static final long FIRST_ACCOUNT = 1001L;
+
+    @Param({"1000"})
+    public int accounts;
+
+    private ConfigurableApplicationContext context;
+    private BankingServiceImpl bankingService;
+    private AccountRepository accountRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BankApp.start();
+        bankingService = context.getBean(BankingServiceImpl.class);
+        accountRepository = context.getBean(AccountRepository.class);
+
+        BankApp.createCustomer(bankingService, CUSTOMER_NUMBER);
+        for (int i = 0; i < accounts; i++) {
+            BankApp.createAccount(bankingService, CUSTOMER_NUMBER, FIRST_ACCOUNT + i, 10000L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> findByAccountNumber() {
+        return bankingService.findByAccountNumber(randomAccountNumber());
+    }
+
+    @Benchmark
+    public Optional<Account> findByAccountNumberUncached() {
+        return accountRepository.findByAccountNumber(randomAccountNumber());
+    }
+
+    private long randomAccountNumber() {
+        return FIRST_ACCOUNT + ThreadLocalRandom.current().nextInt(accounts);
+    }
+}
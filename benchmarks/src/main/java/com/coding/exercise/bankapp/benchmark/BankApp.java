@@ -0,0 +1,54 @@
+package com.coding.exercise.bankapp.benchmark;
+
+import com.coding.exercise.bankapp.BankingApplication;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Runs the application for a benchmark: on a random port, with quiet logging and an embedded
+ * H2 database of its own.
+ */
+final class BankApp {
+
+    private BankApp() {
+    }
+
+    /**
+     * @param args additional --property=value settings
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        List<String> allArgs = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.datasource.generate-unique-name=true",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN"));
+        allArgs.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(BankingApplication.class).run(allArgs.toArray(new String[0]));
+    }
+
+    static void createCustomer(BankingServiceImpl bankingService, Long customerNumber) {
+        bankingService.addCustomer(CustomerDetails.builder().firstName("Bench").lastName("Mark").customerNumber(customerNumber).status("Active")
+                .customerAddress(AddressDetails.builder().address1("1 Bench St").city("Cityville").state("CA").zip("12345").country("USA").build())
+                .contactDetails(ContactDetails.builder().emailId("bench.mark@example.com").build())
+                .build());
+    }
+
+    static void createAccount(BankingServiceImpl bankingService, Long customerNumber, Long accountNumber, long balance) {
+        bankingService.addNewAccount(AccountInformation.builder()
+                .accountType("Checking")
+                .bankInformation(BankInformation.builder().branchName("Bench Branch").branchCode(1).routingNumber(100000001)
+                        .branchAddress(AddressDetails.builder().address1("2 Bench St").city("Cityville").state("CA").zip("12345").country("USA").build())
+                        .build())
+                .accountBalance(balance)
+                .accountNumber(accountNumber)
+                .accountCreated(new Date())
+                .build(), customerNumber);
+    }
+}
@@ -0,0 +1,80 @@
+package com.coding.exercise.bankapp.benchmark;
+
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.model.*;
+import com.coding.exercise.bankapp.service.helper.BankingServiceHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and domain conversions of {@link BankingServiceHelper}, done for every row a
+ * request returns or stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelperConversionBenchmark {
+
+    private final BankingServiceHelper helper = new BankingServiceHelper();
+
+    private Customer customer;
+    private CustomerDetails customerDetails;
+    private Account account;
+    private AccountInformation accountInformation;
+    private Transaction transaction;
+    private TransferDetails transferDetails;
+
+    @Setup
+    public void setUp() {
+        customerDetails = CustomerDetails.builder().firstName("Bench").lastName("Mark").customerNumber(1L).status("Active")
+                .customerAddress(AddressDetails.builder().address1("1 Bench St").city("Cityville").state("CA").zip("12345").country("USA").build())
+                .contactDetails(ContactDetails.builder().emailId("bench.mark@example.com").homePhone("555-0100").build())
+                .build();
+        customer = helper.convertToCustomerEntity(customerDetails);
+
+        BankInfo bankInfo = BankInfo.builder().branchName("Bench Branch").branchCode(1).routingNumber(100000001)
+                .branchAddress(Address.builder().address1("2 Bench St").city("Cityville").state("CA").zip("12345").country("USA").build())
+                .build();
+        account = Account.builder().accountNumber(1001L).accountType("Checking").accountStatus("Active").accountBalance(10000L).bankInformation(bankInfo).build();
+        accountInformation = helper.convertToAccountDomain(account);
+
+        transaction = Transaction.builder().accountNumber(1001L).txAmount(100L).txType("DEBIT").txDateTime(new Date()).build();
+        transferDetails = new TransferDetails(1001L, 1002L, 100L);
+    }
+
+    @Benchmark
+    public CustomerDetails convertToCustomerDomain() {
+        return helper.convertToCustomerDomain(customer);
+    }
+
+    @Benchmark
+    public Customer convertToCustomerEntity() {
+        return helper.convertToCustomerEntity(customerDetails);
+    }
+
+    @Benchmark
+    public AccountInformation convertToAccountDomain() {
+        return helper.convertToAccountDomain(account);
+    }
+
+    @Benchmark
+    public Account convertToAccountEntity() {
+        return helper.convertToAccountEntity(accountInformation, account.getBankInformation());
+    }
+
+    @Benchmark
+    public TransactionDetails convertToTransactionDomain() {
+        return helper.convertToTransactionDomain(transaction);
+    }
+
+    @Benchmark
+    public List<Transaction> createTransferTransactions() {
+        return helper.createTransferTransactions(transferDetails);
+    }
+}
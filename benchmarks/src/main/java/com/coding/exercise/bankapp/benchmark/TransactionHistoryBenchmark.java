@@ -0,0 +1,76 @@
+package com.coding.exercise.bankapp.benchmark;
+
+import com.coding.exercise.bankapp.domain.TransactionDetails;
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction history of one account at different history sizes: the full list, and the
+ * first page of the keyset-paged listing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionHistoryBenchmark {
+
+    private static final Long CUSTOMER_NUMBER = 1L;
+    private static final Long ACCOUNT_NUMBER = 1001L;
+
+    @Param({"100", "1000", "10000"})
+    public int historySize;
+
+    private ConfigurableApplicationContext context;
+    private BankingServiceImpl bankingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BankApp.start();
+        bankingService = context.getBean(BankingServiceImpl.class);
+
+        BankApp.createCustomer(bankingService, CUSTOMER_NUMBER);
+        BankApp.createAccount(bankingService, CUSTOMER_NUMBER, ACCOUNT_NUMBER, 10000L);
+
+        // Inserted directly, a transfer per row would take longer than the benchmark
+        List<Object[]> transactions = new ArrayList<>(historySize);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < historySize; i++) {
+            transactions.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), ACCOUNT_NUMBER, 100L,
+                    new Timestamp(now - (historySize - i) * 1000L), i % 2 == 0 ? "DEBIT" : "CREDIT"});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into transaction (tx_id, account_number, tx_amount, tx_date_time, tx_type) values (?, ?, ?, ?, ?)", transactions);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionDetails> findAllTransactions() {
+        return bankingService.findTransactionsByAccountNumber(ACCOUNT_NUMBER);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> findFirstPage() {
+        return bankingService.findTransactionsByAccountNumber(ACCOUNT_NUMBER, null, null, null, 50);
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,69 @@
+package com.coding.exercise.bankapp.benchmark;
+
+import com.coding.exercise.bankapp.domain.TransferDetails;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BankingServiceImpl#transferDetails} under contention: 8 threads transferring
+ * between a few hot accounts, per locking mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TransferBenchmark {
+
+    private static final Long CUSTOMER_NUMBER = 1L;
+    private static final long FIRST_ACCOUNT = 1001L;
+
+    @Param({"ATOMIC", "PESSIMISTIC", "OPTIMISTIC", "LOCAL", "LEDGER"})
+    public String lockingMode;
+
+    @Param({"4"})
+    public int hotAccounts;
+
+    private Path ledgerJournal;
+    private ConfigurableApplicationContext context;
+    private BankingServiceImpl bankingService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ledgerJournal = Files.createTempFile("ledger", ".journal");
+        Files.delete(ledgerJournal);
+
+        context = BankApp.start("--bankapp.transfer.locking-mode=" + lockingMode,
+                "--bankapp.ledger.journal-path=" + ledgerJournal);
+        bankingService = context.getBean(BankingServiceImpl.class);
+
+        BankApp.createCustomer(bankingService, CUSTOMER_NUMBER);
+        for (int i = 0; i < hotAccounts; i++) {
+            BankApp.createAccount(bankingService, CUSTOMER_NUMBER, FIRST_ACCOUNT + i, Long.MAX_VALUE / 4);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(ledgerJournal);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> transferDetails() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(hotAccounts);
+        int to = (from + 1 + random.nextInt(hotAccounts - 1)) % hotAccounts;
+        return bankingService.transferDetails(new TransferDetails(FIRST_ACCOUNT + from, FIRST_ACCOUNT + to, 1L), CUSTOMER_NUMBER);
+    }
+}
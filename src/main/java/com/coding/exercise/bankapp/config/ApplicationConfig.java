@@ -2,30 +2,24 @@ package com.coding.exercise.bankapp.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-import springfox.documentation.builders.ApiInfoBuilder;
-import springfox.documentation.builders.PathSelectors;
-import springfox.documentation.service.ApiInfo;
-import springfox.documentation.spi.DocumentationType;
-import springfox.documentation.spring.web.plugins.Docket;
-import springfox.documentation.swagger2.annotations.EnableSwagger2;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.info.Info;
 
 @Configuration
-@EnableSwagger2
+@EnableScheduling
 public class ApplicationConfig {
 
     @Bean
-    public Docket api() {
-        return new Docket(DocumentationType.SWAGGER_2)
-        		.apiInfo(apiInfo())
-                .select()
-                .paths(PathSelectors.any())
-                .build();
+    public OpenAPI api() {
+        return new OpenAPI()
+        		.info(apiInfo());
     }
     
-    private ApiInfo apiInfo() {
-        return new ApiInfoBuilder().title("BANKING APPLICATION REST API")
+    private Info apiInfo() {
+        return new Info().title("BANKING APPLICATION REST API")
         		.description("API for Banking Application.")
-                .version("1.0.0").build();
+                .version("1.0.0");
     }
 }
@@ -0,0 +1,36 @@
+package com.coding.exercise.bankapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * In-process caches for the hot account and customer lookups. Size, TTL and statistics
+ * come from spring.cache.caffeine.spec; hits and misses are published as cache.gets metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ACCOUNTS = "accounts";
+
+    public static final String CUSTOMERS = "customers";
+
+    /**
+     * Owning customer number by account number, checked on every transfer. An account never
+     * changes owner, so entries do not expire; they are evicted when the account is created
+     * or deleted, and only bankapp.accounts.owner-cache-size bounds the cache.
+     */
+    public static final String ACCOUNT_OWNERS = "accountOwners";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> accountOwnersCacheCustomizer(
+            @Value("${bankapp.accounts.owner-cache-size:100000}") long ownerCacheSize) {
+        return cacheManager -> cacheManager.registerCustomCache(ACCOUNT_OWNERS,
+                Caffeine.newBuilder().maximumSize(ownerCacheSize).recordStats().build());
+    }
+}
@@ -0,0 +1,30 @@
+package com.coding.exercise.bankapp.config;
+
+import com.coding.exercise.bankapp.model.id.ConfigurableUuidGenerator;
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
+import com.coding.exercise.bankapp.service.metrics.StatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * Hand the configured UUID strategy to Hibernate, where {@link ConfigurableUuidGenerator} reads it.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer uuidStrategyCustomizer(@Value("${bankapp.id.uuid-strategy:TIME_ORDERED}") UuidStrategy uuidStrategy) {
+        return hibernateProperties -> hibernateProperties.put(ConfigurableUuidGenerator.STRATEGY_SETTING, uuidStrategy.name());
+    }
+
+    /**
+     * Count the statements Hibernate issues, reported per banking operation as bankapp.operation.statements.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+}
@@ -1,22 +1,35 @@
 package com.coding.exercise.bankapp.controller;
 
+import com.coding.exercise.bankapp.domain.AccountBalance;
 import com.coding.exercise.bankapp.domain.AccountInformation;
-import com.coding.exercise.bankapp.domain.TransactionDetails;
+import com.coding.exercise.bankapp.domain.TransactionPage;
 import com.coding.exercise.bankapp.domain.TransferDetails;
+import com.coding.exercise.bankapp.domain.TransferResult;
+import com.coding.exercise.bankapp.domain.TransferStatus;
 import com.coding.exercise.bankapp.service.BankingServiceImpl;
-import io.swagger.annotations.Api;
-import io.swagger.annotations.ApiOperation;
-import io.swagger.annotations.ApiResponse;
-import io.swagger.annotations.ApiResponses;
+import com.coding.exercise.bankapp.service.async.TransferQueue;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.util.Date;
 import java.util.List;
 
 @RestController
 @RequestMapping("accounts")
-@Api(tags = {"Accounts and Transactions REST endpoints"})
+@Tag(name = "Accounts and Transactions REST endpoints")
 public class AccountController {
 
 	public void setBankingService(BankingServiceImpl bankingService) {
@@ -26,22 +39,38 @@ public class AccountController {
 	@Autowired
 	private BankingServiceImpl bankingService;
 
+	@Autowired
+	private TransferQueue transferQueue;
+
 	@GetMapping(path = "/{accountNumber}")
-	@ApiOperation(value = "Get account details", notes = "Find account details by account number")
-	@ApiResponses(value = {@ApiResponse(code = 200, message = "Success"),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error")})
+	@Operation(summary = "Get account details", description = "Find account details by account number")
+	@ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error")})
 
 	public ResponseEntity<Object> getByAccountNumber(@PathVariable Long accountNumber) {
 
 		return bankingService.findByAccountNumber(accountNumber);
 	}
 
+	@GetMapping(path = "/{accountNumber}/balance")
+	@Operation(summary = "Get account balance as of", description = "Balance of an account after all its Transactions before asOf (default now).")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = AccountBalance.class))),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "404", description = "Account Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> getBalanceByAccountNumber(@PathVariable Long accountNumber,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date asOf) {
+
+		return bankingService.findBalanceByAccountNumber(accountNumber, asOf);
+	}
+
 	@PostMapping(path = "/add/{customerNumber}")
-	@ApiOperation(value = "Add a new account", notes = "Create an new account for existing customer.")
-	@ApiResponses(value = { @ApiResponse(code = 200, message = "Success"),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@Operation(summary = "Add a new account", description = "Create an new account for existing customer.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
 	public ResponseEntity<Object> addNewAccount(@RequestBody AccountInformation accountInformation,
 			@PathVariable Long customerNumber) {
@@ -50,26 +79,90 @@ public class AccountController {
 	}
 
 	@PutMapping(path = "/transfer/{customerNumber}")
-	@ApiOperation(value = "Transfer funds between accounts", notes = "Transfer funds between accounts.")
-	@ApiResponses(value = { @ApiResponse(code = 200, message = "Success", response = Object.class),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@Operation(summary = "Transfer funds between accounts", description = "Transfer funds between accounts. "
+			+ "A retry with the Idempotency-Key of a successful transfer returns its original response instead of transferring again. "
+			+ "With asynchronous transfers enabled the transfer is queued and its status is returned with 202, "
+			+ "with the URL to poll for its outcome in the Location header.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "202", description = "Queued", content = @Content(schema = @Schema(implementation = TransferStatus.class))),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "403", description = "From Account Not Owned By Customer"),
+			@ApiResponse(responseCode = "409", description = "Conflict"),
+			@ApiResponse(responseCode = "422", description = "Idempotency-Key Used For A Different Transfer"),
+			@ApiResponse(responseCode = "429", description = "Transfer Queue Full"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
 	public ResponseEntity<Object> transferDetails(@RequestBody TransferDetails transferDetails,
+			@PathVariable Long customerNumber,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+
+		if (transferQueue.isEnabled()) {
+			ResponseEntity<Object> response = transferQueue.submit(transferDetails, customerNumber, idempotencyKey);
+			if (response.getStatusCode() != HttpStatus.ACCEPTED) {
+				return response;
+			}
+			TransferStatus queued = (TransferStatus) response.getBody();
+			URI statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+					.path("/accounts/transfer/status/{transferId}").buildAndExpand(queued.getTransferId()).toUri();
+			return ResponseEntity.status(HttpStatus.ACCEPTED).location(statusUrl).body(queued);
+		}
+		return bankingService.transferDetails(transferDetails, customerNumber, idempotencyKey);
+	}
+
+	@GetMapping(path = "/transfer/status/{transferId}")
+	@Operation(summary = "Get transfer status", description = "Status of a transfer queued by the asynchronous transfer endpoint.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = TransferStatus.class))),
+			@ApiResponse(responseCode = "404", description = "Transfer Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> getTransferStatus(@PathVariable String transferId) {
+
+		return transferQueue.findStatus(transferId);
+	}
+
+	@PutMapping(path = "/transfer/batch/{customerNumber}")
+	@Operation(summary = "Transfer funds in batch", description = "Apply a list of transfers in order and report the outcome of each one.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success", content = @Content(array = @ArraySchema(schema = @Schema(implementation = TransferResult.class)))),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "404", description = "Customer Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> transferBatch(@RequestBody List<TransferDetails> transferDetailsList,
 			@PathVariable Long customerNumber) {
 
-		return bankingService.transferDetails(transferDetails, customerNumber);
+		return bankingService.transferBatch(transferDetailsList, customerNumber);
 	}
 
 	@GetMapping(path = "/transactions/{accountNumber}")
-	@ApiOperation(value = "Get all transactions", notes = "Get all Transactions by account number")
-	@ApiResponses(value = { @ApiResponse(code = 200, message = "Success"),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@Operation(summary = "Get transactions", description = "Get a page of Transactions by account number, newest first. "
+			+ "Pass the returned nextCursor back as cursor to get the following page.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = TransactionPage.class))),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "404", description = "Account Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> getTransactionByAccountNumber(@PathVariable Long accountNumber,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer pageSize) {
+
+		return bankingService.findTransactionsByAccountNumber(accountNumber, from, to, cursor, pageSize);
+	}
+
+	@GetMapping(path = "/transactions/{accountNumber}/export")
+	@Operation(summary = "Export transactions", description = "Stream all Transactions of an account, oldest first, as NDJSON or CSV.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "404", description = "Account Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
-	public List<TransactionDetails> getTransactionByAccountNumber(@PathVariable Long accountNumber) {
+	public ResponseEntity<StreamingResponseBody> exportTransactions(@PathVariable Long accountNumber,
+			@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to) {
 
-		return bankingService.findTransactionsByAccountNumber(accountNumber);
+		return bankingService.exportTransactionsByAccountNumber(accountNumber, from, to, format);
 	}
 
 
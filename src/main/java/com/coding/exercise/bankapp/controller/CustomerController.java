@@ -1,20 +1,23 @@
 package com.coding.exercise.bankapp.controller;
 
+import com.coding.exercise.bankapp.domain.AccountInformation;
 import com.coding.exercise.bankapp.domain.CustomerDetails;
 import com.coding.exercise.bankapp.service.BankingServiceImpl;
-import io.swagger.annotations.Api;
-import io.swagger.annotations.ApiOperation;
-import io.swagger.annotations.ApiResponse;
-import io.swagger.annotations.ApiResponses;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("customers")
-@Api(tags = {"Customer REST endpoints"})
+@Tag(name = "Customer REST endpoints")
 public class CustomerController {
 
 	public void setBankingService(BankingServiceImpl bankingService) {
@@ -29,21 +32,33 @@ public class CustomerController {
 	}
 
 	@GetMapping(path = "/all")
-	@ApiOperation(value = "Find all customers", notes = "Gets details of all the customers")
-	@ApiResponses(value = {@ApiResponse(code = 200, message = "Success"),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error")})
+	@Operation(summary = "Find all customers", description = "Gets one page of customers. Sort is property[,asc|desc] on customerNumber, firstName, lastName or status.")
+	@ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error")})
+
+	public ResponseEntity<Object> getAllCustomers(@RequestParam(required = false) Integer page,
+			@RequestParam(required = false) Integer size,
+			@RequestParam(required = false) String sort) {
+
+		return bankingService.findAll(page, size, sort);
+	}
+
+	@GetMapping(path = "/all/stream")
+	@Operation(summary = "Stream all customers", description = "Streams details of all the customers as NDJSON, ordered by customer number")
+	@ApiResponses(value = {@ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error")})
 
-	public List<CustomerDetails> getAllCustomers() {
+	public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
 
-		return bankingService.findAll();
+		return bankingService.exportCustomers();
 	}
 
 	@PostMapping(path = "/add")
-	@ApiOperation(value = "Add a Customer", notes = "Add customer and create an account")
-	@ApiResponses(value = { @ApiResponse(code = 200, message = "Success"),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@Operation(summary = "Add a Customer", description = "Add customer and create an account")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
 	public ResponseEntity<Object> addCustomer(@RequestBody CustomerDetails customer) {
 
@@ -51,22 +66,35 @@ public class CustomerController {
 	}
 
 	@GetMapping(path = "/{customerNumber}")
-	@ApiOperation(value = "Get customer details", notes = "Get Customer details by customer number.")
+	@Operation(summary = "Get customer details", description = "Get Customer details by customer number.")
 	@ApiResponses(value = {
-			@ApiResponse(code = 200, message = "Success", response = CustomerDetails.class, responseContainer = "Object"),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+			@ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = CustomerDetails.class))),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
 	public CustomerDetails getCustomer(@PathVariable Long customerNumber) {
 
 		return bankingService.findByCustomerNumber(customerNumber);
 	}
 
+	@GetMapping(path = "/{customerNumber}/accounts")
+	@Operation(summary = "Get customer accounts", description = "Get all accounts of a customer, in account number order.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Success", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AccountInformation.class)))),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "404", description = "Customer Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> getCustomerAccounts(@PathVariable Long customerNumber) {
+
+		return bankingService.findAccountsByCustomerNumber(customerNumber);
+	}
+
 	@PutMapping(path = "/{customerNumber}")
-	@ApiOperation(value = "Update customer", notes = "Update customer and any other account information associated with him.")
-	@ApiResponses(value = { @ApiResponse(code = 200, message = "Success", response = Object.class),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@Operation(summary = "Update customer", description = "Update customer and any other account information associated with him.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
 	public ResponseEntity<Object> updateCustomer(@RequestBody CustomerDetails customerDetails,
 			@PathVariable Long customerNumber) {
@@ -75,14 +103,17 @@ public class CustomerController {
 	}
 
 	@DeleteMapping(path = "/{customerNumber}")
-	@ApiOperation(value = "Delete customer and related accounts", notes = "Delete customer and all accounts associated with him.")
-	@ApiResponses(value = { @ApiResponse(code = 200, message = "Success", response = Object.class),
-			@ApiResponse(code = 400, message = "Bad Request"),
-			@ApiResponse(code = 500, message = "Internal Server Error") })
+	@Operation(summary = "Delete customer and related accounts", description = "Delete customer and all accounts associated with him, "
+			+ "with their transactions. The transactions are archived first unless archiveTransactions is false.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success"),
+			@ApiResponse(responseCode = "400", description = "Bad Request"),
+			@ApiResponse(responseCode = "404", description = "Customer Not Found"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
 
-	public ResponseEntity<Object> deleteCustomer(@PathVariable Long customerNumber) {
+	public ResponseEntity<Object> deleteCustomer(@PathVariable Long customerNumber,
+			@RequestParam(defaultValue = "true") boolean archiveTransactions) {
 
-		return bankingService.deleteCustomer(customerNumber);
+		return bankingService.deleteCustomer(customerNumber, archiveTransactions);
 	}
 
 }
@@ -0,0 +1,44 @@
+package com.coding.exercise.bankapp.controller;
+
+import com.coding.exercise.bankapp.domain.ReconciliationReport;
+import com.coding.exercise.bankapp.service.reconciliation.ReconciliationJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("reconciliation")
+@Tag(name = "Reconciliation REST endpoints")
+public class ReconciliationController {
+
+	@Autowired
+	private ReconciliationJob reconciliationJob;
+
+	@PostMapping
+	@Operation(summary = "Run a reconciliation", description = "Check every account's balance and every DEBIT/CREDIT pair against the Transactions now, instead of waiting for the nightly run.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = ReconciliationReport.class))),
+			@ApiResponse(responseCode = "409", description = "Reconciliation Already Running"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> runReconciliation() {
+
+		return reconciliationJob.runNow();
+	}
+
+	@GetMapping(path = "/last")
+	@Operation(summary = "Get the last reconciliation report", description = "Report of the last completed reconciliation, nightly or on request.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = ReconciliationReport.class))),
+			@ApiResponse(responseCode = "404", description = "No Reconciliation Yet"),
+			@ApiResponse(responseCode = "500", description = "Internal Server Error") })
+
+	public ResponseEntity<Object> getLastReconciliation() {
+
+		return reconciliationJob.findLastReport();
+	}
+}
@@ -0,0 +1,26 @@
+package com.coding.exercise.bankapp.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+
+import java.util.Date;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class AccountBalance {
+
+	private Long accountNumber;
+
+	private Date asOf;
+
+	/**
+	 * In minor units, see {@link Money}.
+	 */
+	@JsonSerialize(using = Money.Serializer.class)
+	@JsonDeserialize(using = Money.Deserializer.class)
+	private Long balance;
+}
@@ -2,6 +2,8 @@ package com.coding.exercise.bankapp.domain;
 
 import java.util.Date;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -12,7 +14,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class AccountInformation {
 
 	private Long accountNumber;
@@ -23,7 +25,12 @@ public class AccountInformation {
 	
 	private String accountType;
 	
-	private Double accountBalance;
+	/**
+	 * In minor units, see {@link Money}.
+	 */
+	@JsonSerialize(using = Money.Serializer.class)
+	@JsonDeserialize(using = Money.Deserializer.class)
+	private Long accountBalance;
 	
 	private Date accountCreated;
 }
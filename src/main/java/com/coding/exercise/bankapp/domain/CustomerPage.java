@@ -0,0 +1,27 @@
+package com.coding.exercise.bankapp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class CustomerPage {
+
+	private List<CustomerDetails> customers;
+
+	private int page;
+
+	private int pageSize;
+
+	private long totalElements;
+
+	private int totalPages;
+}
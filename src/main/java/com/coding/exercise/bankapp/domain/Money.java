@@ -0,0 +1,87 @@
+package com.coding.exercise.bankapp.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amounts are carried as a long number of minor units (cents) of the bank's
+ * single currency, which has {@link #SCALE} decimal places. The REST API keeps exchanging
+ * them as decimal numbers in major units through {@link Serializer} and {@link Deserializer}.
+ */
+public final class Money {
+
+	public static final int SCALE = 2;
+
+	private Money() {
+	}
+
+	/**
+	 * @param amount amount in major units
+	 * @return the amount in minor units
+	 * @throws ArithmeticException if the amount has more than {@link #SCALE} decimal places or does not fit a long
+	 */
+	public static long toMinorUnits(BigDecimal amount) {
+		return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+	}
+
+	public static BigDecimal toMajorUnits(long minorUnits) {
+		return BigDecimal.valueOf(minorUnits, SCALE);
+	}
+
+	/**
+	 * Writes minor units as a decimal number in major units, e.g. 12345 as 123.45.
+	 */
+	public static class Serializer extends StdSerializer<Long> {
+
+		public Serializer() {
+			super(Long.class);
+		}
+
+		@Override
+		public void serialize(Long minorUnits, JsonGenerator generator, SerializerProvider provider) throws IOException {
+			generator.writeNumber(toMajorUnits(minorUnits));
+		}
+	}
+
+	/**
+	 * Reads a decimal number in major units as minor units, rejecting amounts with
+	 * more than {@link #SCALE} decimal places instead of rounding them.
+	 */
+	public static class Deserializer extends StdDeserializer<Long> {
+
+		public Deserializer() {
+			super(Long.class);
+		}
+
+		@Override
+		public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+			BigDecimal amount;
+			if (parser.hasToken(JsonToken.VALUE_NUMBER_INT) || parser.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+				amount = parser.getDecimalValue();
+			} else if (parser.hasToken(JsonToken.VALUE_STRING)) {
+				try {
+					amount = new BigDecimal(parser.getText().trim());
+				} catch (NumberFormatException e) {
+					return (Long) context.handleWeirdStringValue(Long.class, parser.getText(), "not a decimal amount");
+				}
+			} else {
+				return (Long) context.handleUnexpectedToken(Long.class, parser);
+			}
+
+			try {
+				return toMinorUnits(amount);
+			} catch (ArithmeticException e) {
+				return (Long) context.handleWeirdNumberValue(Long.class, amount, "more than %d decimal places or out of range", SCALE);
+			}
+		}
+	}
+}
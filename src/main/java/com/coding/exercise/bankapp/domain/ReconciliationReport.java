@@ -0,0 +1,116 @@
+package com.coding.exercise.bankapp.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a reconciliation run. The mismatch and unverified account lists hold at most
+ * bankapp.reconciliation.max-reported entries each; the counts are complete.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ReconciliationReport {
+
+	private Date startedAt;
+
+	private Date completedAt;
+
+	/**
+	 * Accounts whose balance was checked; excludes {@link #accountsUnverified}.
+	 */
+	private long accountsChecked;
+
+	private long transactionsChecked;
+
+	/**
+	 * Accounts without a balance snapshot, whose balance could not be checked.
+	 */
+	private long accountsUnverified;
+
+	private List<Long> unverifiedAccounts;
+
+	private long balanceMismatchCount;
+
+	private List<BalanceMismatch> balanceMismatches;
+
+	/**
+	 * Transaction rows without their other side: linked rows whose counterpart is missing, plus
+	 * unlinked rows left over in {@link #unmatchedTransfers}.
+	 */
+	private long unmatchedTransferCount;
+
+	private List<UnpairedTransaction> unpairedTransactions;
+
+	private List<UnmatchedTransfer> unmatchedTransfers;
+
+	/**
+	 * An account whose stored balance is not its opening balance plus its transactions since.
+	 */
+	@AllArgsConstructor
+	@NoArgsConstructor
+	@Getter
+	@Setter
+	@Builder
+	public static class BalanceMismatch {
+
+		private Long accountNumber;
+
+		@JsonSerialize(using = Money.Serializer.class)
+		@JsonDeserialize(using = Money.Deserializer.class)
+		private Long storedBalance;
+
+		@JsonSerialize(using = Money.Serializer.class)
+		@JsonDeserialize(using = Money.Deserializer.class)
+		private Long expectedBalance;
+	}
+
+	/**
+	 * A DEBIT or CREDIT row whose transfer has no row of the opposite type and the same amount
+	 * on the counterpart account.
+	 */
+	@AllArgsConstructor
+	@NoArgsConstructor
+	@Getter
+	@Setter
+	@Builder
+	public static class UnpairedTransaction {
+
+		private UUID transferId;
+
+		private Long accountNumber;
+
+		private String txType;
+
+		@JsonSerialize(using = Money.Serializer.class)
+		@JsonDeserialize(using = Money.Deserializer.class)
+		private Long amount;
+	}
+
+	/**
+	 * Unlinked DEBIT or CREDIT rows, written before transfer ids, of an amount left over once every DEBIT of that amount has been
+	 * paired with a CREDIT of the same amount.
+	 */
+	@AllArgsConstructor
+	@NoArgsConstructor
+	@Getter
+	@Setter
+	@Builder
+	public static class UnmatchedTransfer {
+
+		@JsonSerialize(using = Money.Serializer.class)
+		@JsonDeserialize(using = Money.Deserializer.class)
+		private Long amount;
+
+		private long debitsWithoutCredit;
+
+		private long creditsWithoutDebit;
+	}
+}
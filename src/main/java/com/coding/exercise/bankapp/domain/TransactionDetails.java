@@ -1,8 +1,11 @@
 package com.coding.exercise.bankapp.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.*;
 
 import java.util.Date;
+import java.util.UUID;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -21,9 +24,22 @@ public class TransactionDetails {
 		this.txType = txType;
 	}
 
-	public void setAmount(Double txAmount) {
+	@JsonDeserialize(using = Money.Deserializer.class)
+	public void setAmount(Long txAmount) {
 		this.txAmount = txAmount;
 	}
 
-	private Double txAmount;
+	/**
+	 * In minor units, see {@link Money}.
+	 */
+	@JsonSerialize(using = Money.Serializer.class)
+	@JsonDeserialize(using = Money.Deserializer.class)
+	private Long txAmount;
+
+	/**
+	 * Shared with the other side of the transfer.
+	 */
+	private UUID transferId;
+
+	private Long counterpartAccountNumber;
 }
@@ -0,0 +1,24 @@
+package com.coding.exercise.bankapp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TransactionPage {
+
+	private List<TransactionDetails> transactions;
+
+	/**
+	 * Opaque cursor to pass back for the next page; null on the last page.
+	 */
+	private String nextCursor;
+}
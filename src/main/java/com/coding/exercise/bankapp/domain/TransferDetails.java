@@ -1,5 +1,7 @@
 package com.coding.exercise.bankapp.domain;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,9 +17,15 @@ public class TransferDetails {
 
 	private Long toAccountNumber;
 
-	private Double transferAmount;
+	/**
+	 * In minor units, see {@link Money}.
+	 */
+	@JsonSerialize(using = Money.Serializer.class)
+	@JsonDeserialize(using = Money.Deserializer.class)
+	private Long transferAmount;
 
-	public void setAmount(double v) {
+	@JsonDeserialize(using = Money.Deserializer.class)
+	public void setAmount(Long v) {
 		transferAmount = v;
 	}
 
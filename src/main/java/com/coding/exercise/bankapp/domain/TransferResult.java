@@ -0,0 +1,29 @@
+package com.coding.exercise.bankapp.domain;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TransferResult {
+
+	private Long fromAccountNumber;
+
+	private Long toAccountNumber;
+
+	@JsonSerialize(using = Money.Serializer.class)
+	@JsonDeserialize(using = Money.Deserializer.class)
+	private Long transferAmount;
+
+	private Integer status;
+
+	private String message;
+}
@@ -0,0 +1,28 @@
+package com.coding.exercise.bankapp.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class TransferStatus {
+
+	public enum State {
+		QUEUED, COMPLETED
+	}
+
+	private String transferId;
+
+	private State state;
+
+	/**
+	 * Outcome of the transfer once it has been executed, null while it is queued.
+	 */
+	private TransferResult result;
+}
@@ -3,22 +3,25 @@ package com.coding.exercise.bankapp.model;
 import java.util.Date;
 import java.util.UUID;
 
-import javax.persistence.CascadeType;
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
-import javax.persistence.OneToOne;
-import javax.persistence.Temporal;
-import javax.persistence.TemporalType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_ACCOUNT_ACCOUNT_NUMBER", columnNames = "accountNumber"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -26,24 +29,33 @@ import lombok.NoArgsConstructor;
 public class Account {
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.AUTO)
+	@ConfigurableUuid
 	@Column(name="ACCT_ID")
 	private UUID id;
 	
 	private Long accountNumber;
 	
-	@OneToOne(cascade=CascadeType.ALL)
+	@ManyToOne(fetch=FetchType.LAZY)
 	private BankInfo bankInformation;
 	
 	private String accountStatus;
 	
 	private String accountType;
 	
-	private Double accountBalance;
+	/**
+	 * In minor units, see {@link com.coding.exercise.bankapp.domain.Money}.
+	 */
+	private long accountBalance;
     
-    @Temporal(TemporalType.TIME)
+	/**
+	 * When the account was opened; null for accounts opened before it was recorded.
+	 */
+    @Temporal(TemporalType.TIMESTAMP)
 	private Date createDateTime;
 	
     @Temporal(TemporalType.TIME)
 	private Date updateDateTime;
+
+	@Version
+	private Long version;
 }
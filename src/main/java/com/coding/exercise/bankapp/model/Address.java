@@ -2,12 +2,14 @@ package com.coding.exercise.bankapp.model;
 
 import java.util.UUID;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,10 +20,12 @@ import lombok.NoArgsConstructor;
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Address {
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.AUTO)
+	@ConfigurableUuid
 	@Column(name="ADDR_ID")
 	private UUID id;
 	
@@ -0,0 +1,39 @@
+package com.coding.exercise.bankapp.model;
+
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Balance of an account at the start and at the end of a day (UTC) on which it was opened or
+ * had transactions. Maintained in the same transaction as that day's DEBIT and CREDIT rows.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_BALANCE_SNAPSHOT_ACCOUNT_DATE", columnNames = {"accountNumber", "snapshotDate"}))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceSnapshot {
+
+	@Id
+	@ConfigurableUuid
+	@Column(name = "SNAPSHOT_ID")
+	private UUID id;
+	private Long accountNumber;
+	private LocalDate snapshotDate;
+	/**
+	 * In minor units, see {@link com.coding.exercise.bankapp.domain.Money}.
+	 */
+	private long openingBalance;
+	/**
+	 * In minor units, see {@link com.coding.exercise.bankapp.domain.Money}.
+	 */
+	private long closingBalance;
+}
@@ -1,11 +1,14 @@
 package com.coding.exercise.bankapp.model;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.UUID;
 
 @NoArgsConstructor
@@ -13,15 +16,18 @@ import java.util.UUID;
 @Data
 @Builder
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_BANK_INFO_BRANCH", columnNames = {"branchCode", "routingNumber"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class BankInfo {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@ConfigurableUuid
 	@Column(name = "BANK_ID")
 	private UUID id;
 	private String branchName;
 	private Integer branchCode;
-	@OneToOne(cascade=CascadeType.ALL)
+	@OneToOne(cascade=CascadeType.ALL, fetch=FetchType.LAZY)
 	private Address branchAddress;
 	private Integer routingNumber;
 	
@@ -1,11 +1,12 @@
 package com.coding.exercise.bankapp.model;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -16,7 +17,7 @@ import java.util.UUID;
 public class Contact {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@ConfigurableUuid
 	@Column(name = "CONTACT_ID")
 	private UUID id;
 	private String emailId;
@@ -1,15 +1,17 @@
 package com.coding.exercise.bankapp.model;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.Date;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_CUSTOMER_CUSTOMER_NUMBER", columnNames = "customerNumber"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -17,7 +19,7 @@ import java.util.UUID;
 public class Customer {
 
     @Id
-    @GeneratedValue
+    @ConfigurableUuid
     @Column(name="CUST_ID")
     private UUID id;
     private String firstName;
@@ -25,9 +27,9 @@ public class Customer {
     private String middleName;
     private Long customerNumber;
     private String status;
-    @ManyToOne(cascade=CascadeType.ALL)
+    @ManyToOne(cascade=CascadeType.ALL, fetch=FetchType.LAZY)
     private Address customerAddress;
-    @OneToOne(cascade=CascadeType.ALL)
+    @OneToOne(cascade=CascadeType.ALL, fetch=FetchType.LAZY)
     private Contact contactDetails;
     @Temporal(TemporalType.TIME)
 	private Date createDateTime;
@@ -2,18 +2,22 @@ package com.coding.exercise.bankapp.model;
 
 import java.util.UUID;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
-import javax.persistence.Id;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "UK_XREF_CUSTOMER_ACCOUNT", columnNames = {"customerNumber", "accountNumber"}),
+		indexes = @Index(name = "IDX_XREF_ACCOUNT", columnList = "accountNumber"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -21,7 +25,7 @@ import lombok.NoArgsConstructor;
 public class CustomerAccountXRef {
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.AUTO)
+	@ConfigurableUuid
 	@Column(name="CUST_ACC_XREF_ID")
 	private UUID id;
 	
@@ -0,0 +1,28 @@
+package com.coding.exercise.bankapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Sequence of the last ledger journal entry written to the Account and Transaction tables.
+ * Updated in the same transaction as those writes, so each entry is applied exactly once.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LedgerCheckpoint {
+
+	@Id
+	@Column(name = "LEDGER_NAME")
+	private String name;
+
+	private Long lastSequence;
+}
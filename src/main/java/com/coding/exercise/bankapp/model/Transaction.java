@@ -1,15 +1,18 @@
 package com.coding.exercise.bankapp.model;
 
+import com.coding.exercise.bankapp.model.id.ConfigurableUuid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import javax.persistence.*;
+import jakarta.persistence.*;
 import java.util.Date;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {@Index(name = "IDX_TRANSACTION_ACCOUNT_DATE", columnList = "accountNumber, txDateTime"),
+		@Index(name = "IDX_TRANSACTION_TRANSFER", columnList = "transferId")})
 @Data
 @Builder
 @AllArgsConstructor
@@ -17,12 +20,23 @@ import java.util.UUID;
 public class Transaction {
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.AUTO)
+	@ConfigurableUuid
 	@Column(name="TX_ID")
 	private UUID id;
 	private Long accountNumber;
-	@Temporal(TemporalType.TIME)
+	@Temporal(TemporalType.TIMESTAMP)
 	private Date txDateTime;
 	private String txType;
-	private Double txAmount;
+	/**
+	 * In minor units, see {@link com.coding.exercise.bankapp.domain.Money}.
+	 */
+	private long txAmount;
+	/**
+	 * Shared by the DEBIT and CREDIT rows of one transfer; null on rows written before it existed.
+	 */
+	private UUID transferId;
+	/**
+	 * Account on the other side of the transfer.
+	 */
+	private Long counterpartAccountNumber;
 }
@@ -0,0 +1,43 @@
+package com.coding.exercise.bankapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A {@link Transaction} of an offboarded customer, kept under its original id after the
+ * customer's accounts and transactions have been deleted.
+ */
+@Entity
+@Table(indexes = @Index(name = "IDX_TRANSACTION_ARCHIVE_ACCOUNT_DATE", columnList = "accountNumber, txDateTime"))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionArchive {
+
+	@Id
+	@Column(name = "TX_ID")
+	private UUID id;
+	private Long accountNumber;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date txDateTime;
+	private String txType;
+	/**
+	 * In minor units, see {@link com.coding.exercise.bankapp.domain.Money}.
+	 */
+	private long txAmount;
+	private UUID transferId;
+	private Long counterpartAccountNumber;
+	/**
+	 * Customer whose offboarding archived the row.
+	 */
+	private Long customerNumber;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date archivedDateTime;
+}
@@ -0,0 +1,50 @@
+package com.coding.exercise.bankapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * Outcome of a transfer submitted with an Idempotency-Key header, kept so that a retry
+ * with the same key gets the same response instead of a second transfer. Inserted in the
+ * same transaction as the transfer itself, or in LEDGER mode claimed as {@link #PENDING}
+ * before the transfer and completed after it.
+ */
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferIdempotencyKey {
+
+	/**
+	 * Response status of a key claimed by a transfer that has not finished yet.
+	 */
+	public static final int PENDING = 0;
+
+	@Id
+	@Column(name = "IDEMPOTENCY_KEY")
+	private String key;
+
+	private Long customerNumber;
+	private Long fromAccountNumber;
+	private Long toAccountNumber;
+	/**
+	 * In minor units, see {@link com.coding.exercise.bankapp.domain.Money}.
+	 */
+	private Long transferAmount;
+
+	private int responseStatus;
+	@Column(length = 1024)
+	private String responseBody;
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date created;
+
+	public boolean isPending() {
+		return responseStatus == PENDING;
+	}
+}
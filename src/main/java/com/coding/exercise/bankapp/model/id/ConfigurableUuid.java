@@ -0,0 +1,19 @@
+package com.coding.exercise.bankapp.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a UUID primary key generated by {@link ConfigurableUuidGenerator}.
+ */
+@IdGeneratorType(ConfigurableUuidGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface ConfigurableUuid {
+}
@@ -0,0 +1,31 @@
+package com.coding.exercise.bankapp.model.id;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.io.Serializable;
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate generator for UUID primary keys annotated {@link ConfigurableUuid}, whose
+ * {@link UuidStrategy} is picked from the {@value #STRATEGY_SETTING} setting, defaulting to TIME_ORDERED.
+ */
+public class ConfigurableUuidGenerator implements IdentifierGenerator {
+
+    public static final String STRATEGY_SETTING = "bankapp.id.uuid-strategy";
+
+    private final UuidStrategy strategy;
+
+    public ConfigurableUuidGenerator(ConfigurableUuid config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+        Object setting = creationContext.getServiceRegistry().getService(ConfigurationService.class).getSettings().get(STRATEGY_SETTING);
+        strategy = setting != null ? UuidStrategy.valueOf(setting.toString().trim().toUpperCase()) : UuidStrategy.TIME_ORDERED;
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        return strategy.next();
+    }
+}
@@ -0,0 +1,61 @@
+package com.coding.exercise.bankapp.model.id;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How entity UUID primary keys are generated.
+ */
+public enum UuidStrategy {
+
+    /**
+     * Random (version 4) UUIDs. New keys land anywhere in the primary key index,
+     * so every insert touches a random B-tree page.
+     */
+    RANDOM {
+        @Override
+        public UUID next() {
+            return UUID.randomUUID();
+        }
+    },
+
+    /**
+     * Time-ordered (version 7 layout) UUIDs: 48 bits of epoch milliseconds, a 12 bit
+     * counter for keys generated within the same millisecond, then random bits.
+     * Keys are monotonically increasing, so inserts append to the right-most index page.
+     */
+    TIME_ORDERED {
+        private final Random random = new SecureRandom();
+        private long lastMillis;
+        private long counter;
+
+        @Override
+        public UUID next() {
+            long millis;
+            long sequence;
+            synchronized (this) {
+                millis = Math.max(System.currentTimeMillis(), lastMillis);
+                if (millis == lastMillis) {
+                    counter++;
+                    if (counter > 0xFFF) {
+                        // counter exhausted for this millisecond, borrow the next one
+                        millis++;
+                        counter = 0;
+                    }
+                } else {
+                    counter = random.nextInt(0x800);
+                }
+                lastMillis = millis;
+                sequence = counter;
+            }
+
+            long mostSigBits = (millis << 16) | 0x7000L | sequence;
+            long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(mostSigBits, leastSigBits);
+        }
+    };
+
+    public abstract UUID next();
+}
@@ -1,8 +1,10 @@
 package com.coding.exercise.bankapp.service;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.coding.exercise.bankapp.domain.AccountInformation;
 import com.coding.exercise.bankapp.domain.CustomerDetails;
@@ -13,6 +15,10 @@ public interface BankingService {
 
     public List<CustomerDetails> findAll();
     
+    public ResponseEntity<Object> findAll(Integer page, Integer pageSize, String sort);
+    
+    public ResponseEntity<StreamingResponseBody> exportCustomers();
+    
     public ResponseEntity<Object> addCustomer(CustomerDetails customerDetails);
     
     public CustomerDetails findByCustomerNumber(Long customerNumber);
@@ -21,12 +27,26 @@ public interface BankingService {
     
     public ResponseEntity<Object> deleteCustomer(Long customerNumber) ;
     
+    public ResponseEntity<Object> deleteCustomer(Long customerNumber, boolean archiveTransactions);
+    
     public ResponseEntity<Object> findByAccountNumber(Long accountNumber);
     
+    public ResponseEntity<Object> findAccountsByCustomerNumber(Long customerNumber);
+    
     public ResponseEntity<Object> addNewAccount(AccountInformation accountInformation, Long customerNumber);
     
     public ResponseEntity<Object> transferDetails(TransferDetails transferDetails, Long customerNumber);
     
+    public ResponseEntity<Object> transferDetails(TransferDetails transferDetails, Long customerNumber, String idempotencyKey);
+    
+    public ResponseEntity<Object> transferBatch(List<TransferDetails> transferDetailsList, Long customerNumber);
+    
+    public ResponseEntity<Object> findBalanceByAccountNumber(Long accountNumber, Date asOf);
+
     public List<TransactionDetails> findTransactionsByAccountNumber(Long accountNumber);
     
+    public ResponseEntity<Object> findTransactionsByAccountNumber(Long accountNumber, Date fromDate, Date toDate, String cursor, Integer pageSize);
+    
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByAccountNumber(Long accountNumber, Date fromDate, Date toDate, String format);
+    
 }
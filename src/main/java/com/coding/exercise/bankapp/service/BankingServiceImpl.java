@@ -1,27 +1,82 @@
 package com.coding.exercise.bankapp.service;
 
+import com.coding.exercise.bankapp.config.CacheConfig;
+import com.coding.exercise.bankapp.domain.AccountBalance;
 import com.coding.exercise.bankapp.domain.AccountInformation;
+import com.coding.exercise.bankapp.domain.BankInformation;
 import com.coding.exercise.bankapp.domain.CustomerDetails;
+import com.coding.exercise.bankapp.domain.CustomerPage;
 import com.coding.exercise.bankapp.domain.TransactionDetails;
+import com.coding.exercise.bankapp.domain.TransactionPage;
 import com.coding.exercise.bankapp.domain.TransferDetails;
+import com.coding.exercise.bankapp.domain.TransferResult;
 import com.coding.exercise.bankapp.model.*;
 import com.coding.exercise.bankapp.service.helper.BankingServiceHelper;
+import com.coding.exercise.bankapp.service.helper.TransactionCursor;
+import com.coding.exercise.bankapp.service.helper.TransactionExportFormat;
+import com.coding.exercise.bankapp.service.helper.TransactionExportWriter;
+import com.coding.exercise.bankapp.service.idempotency.TransferIdempotencyStore;
+import com.coding.exercise.bankapp.service.ledger.LedgerEngine;
+import com.coding.exercise.bankapp.service.lock.AccountLockManager;
+import com.coding.exercise.bankapp.service.lock.AccountLockingMode;
+import com.coding.exercise.bankapp.service.metrics.BankingOperationMetrics;
 import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.BalanceSnapshotRepository;
+import com.coding.exercise.bankapp.service.repository.BankInfoRepository;
 import com.coding.exercise.bankapp.service.repository.CustomerAccountXRefRepository;
 import com.coding.exercise.bankapp.service.repository.CustomerRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionArchiveRepository;
 import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import com.coding.exercise.bankapp.service.repository.TransferIdempotencyKeyRepository;
+import com.coding.exercise.bankapp.service.snapshot.BalanceSnapshotStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class BankingServiceImpl implements BankingService {
 
+    public static final String INSUFFICIENT_FUNDS = "Invalid Transfer Amount or Insufficient Funds.";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Set<String> CUSTOMER_SORT_PROPERTIES = new HashSet<>(Arrays.asList("customerNumber", "firstName", "lastName", "status"));
+
     @Autowired
     private CustomerRepository customerRepository;
     @Autowired
@@ -31,15 +86,95 @@ public class BankingServiceImpl implements BankingService {
     @Autowired
     private CustomerAccountXRefRepository custAccXRefRepository;
     @Autowired
+    private BankInfoRepository bankInfoRepository;
+    @Autowired
     private BankingServiceHelper bankingServiceHelper;
+    @Autowired
+    private AccountLockManager accountLockManager;
+    @Autowired
+    private LedgerEngine ledgerEngine;
+    @Autowired
+    private TransferIdempotencyStore transferIdempotencyStore;
+    @Autowired
+    private TransferIdempotencyKeyRepository transferIdempotencyKeyRepository;
+    @Autowired
+    private BalanceSnapshotStore balanceSnapshotStore;
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired
+    private TransactionArchiveRepository transactionArchiveRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private TransactionExportWriter transactionExportWriter;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Cache accountCache;
+    private Cache customerCache;
+    private Cache accountOwnerCache;
+    private Timer rowLockStatement;
+
+    @Value("${bankapp.transfer.locking-mode:ATOMIC}")
+    private AccountLockingMode lockingMode;
+    @Value("${bankapp.transfer.max-attempts:3}")
+    private int transferMaxAttempts;
+    @Value("${bankapp.transfer.batch-chunk-size:500}")
+    private int transferBatchChunkSize;
+    @Value("${bankapp.transactions.default-page-size:50}")
+    private int transactionsDefaultPageSize;
+    @Value("${bankapp.transactions.max-page-size:500}")
+    private int transactionsMaxPageSize;
+    @Value("${bankapp.customers.default-page-size:50}")
+    private int customersDefaultPageSize;
+    @Value("${bankapp.customers.max-page-size:500}")
+    private int customersMaxPageSize;
 
     public BankingServiceImpl(CustomerRepository repository) {
         this.customerRepository = repository;
     }
 
+    /**
+     * Evictions are deferred until the surrounding transaction commits, so a concurrent
+     * read cannot re-cache the old state in between.
+     */
+    @PostConstruct
+    void initCaches() {
+        accountCache = new TransactionAwareCacheDecorator(cacheManager.getCache(CacheConfig.ACCOUNTS));
+        customerCache = new TransactionAwareCacheDecorator(cacheManager.getCache(CacheConfig.CUSTOMERS));
+        accountOwnerCache = new TransactionAwareCacheDecorator(cacheManager.getCache(CacheConfig.ACCOUNT_OWNERS));
+    }
+
+    /**
+     * Locking statement time of PESSIMISTIC and ATOMIC transfers: the SELECT ... FOR UPDATE and
+     * the conditional debit and credit UPDATEs, row lock wait included. The stripe lock wait of
+     * LOCAL transfers is recorded apart by {@link AccountLockManager}.
+     */
+    @PostConstruct
+    void initMetrics() {
+        rowLockStatement = Timer.builder(BankingOperationMetrics.LOCK_STATEMENT)
+                .description("Time of the statements taking account row locks in transfers, lock wait included")
+                .tag("lock", "row")
+                .register(meterRegistry);
+    }
+
     public void deleteRepository() {
+        accountCache.clear();
+        customerCache.clear();
+        accountOwnerCache.clear();
+        transferIdempotencyStore.clear();
+        transferIdempotencyKeyRepository.deleteAll();
         accountRepository.deleteAll();
+        bankInfoRepository.deleteAll();
         transactionRepository.deleteAll();
+        transactionArchiveRepository.deleteAll();
+        balanceSnapshotRepository.deleteAll();
         customerRepository.deleteAll();
         custAccXRefRepository.deleteAll();
     }
@@ -57,6 +192,93 @@ public class BankingServiceImpl implements BankingService {
         return allCustomerDetails;
     }
 
+    /**
+     * Get one page of customers, with address and contact fetched in the same query.
+     *
+     * @param page zero-based page index, or null for the first page
+     * @param pageSize number of customers per page, or null for the default
+     * @param sort property[,asc|desc], or null to sort by customer number
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<Object> findAll(Integer page, Integer pageSize, String sort) {
+
+        int pageIndex = page != null ? page : 0;
+        if (pageIndex < 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Page must not be negative.");
+        }
+
+        int limit = pageSize != null ? pageSize : customersDefaultPageSize;
+        if (limit <= 0 || limit > customersMaxPageSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Page size must be between 1 and " + customersMaxPageSize + ".");
+        }
+
+        Sort customerSort = parseCustomerSort(sort);
+        if (customerSort == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid sort " + sort + ".");
+        }
+
+        Page<Customer> customerPage = customerRepository.findAll(PageRequest.of(pageIndex, limit, customerSort));
+
+        return ResponseEntity.status(HttpStatus.OK).body(CustomerPage.builder()
+                .customers(customerPage.map(bankingServiceHelper::convertToCustomerDomain).getContent())
+                .page(customerPage.getNumber())
+                .pageSize(customerPage.getSize())
+                .totalElements(customerPage.getTotalElements())
+                .totalPages(customerPage.getTotalPages())
+                .build());
+    }
+
+    /**
+     * Export all customers as NDJSON, ordered by customer number, streamed from the
+     * database straight to the response.
+     *
+     * @return
+     */
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(NDJSON)
+                .body(outputStream -> {
+                    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                    writeEntityStream(customerRepository::streamAll, writer, customer -> {
+                        writer.write(objectMapper.writeValueAsString(bankingServiceHelper.convertToCustomerDomain(customer)));
+                        writer.write('\n');
+                    });
+                    writer.flush();
+                });
+    }
+
+    /**
+     * Customer number is always the last sort key so that pages are stable.
+     *
+     * @return the sort, or null if the expression names an unsupported property or direction
+     */
+    private Sort parseCustomerSort(String sort) {
+
+        Sort byCustomerNumber = Sort.by("customerNumber");
+        if (sort == null || sort.isEmpty()) {
+            return byCustomerNumber;
+        }
+
+        String[] parts = sort.split(",");
+        if (parts.length > 2 || !CUSTOMER_SORT_PROPERTIES.contains(parts[0])) {
+            return null;
+        }
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length == 2) {
+            Optional<Sort.Direction> parsed = Sort.Direction.fromOptionalString(parts[1]);
+            if (!parsed.isPresent()) {
+                return null;
+            }
+            direction = parsed.get();
+        }
+
+        Sort customerSort = Sort.by(direction, parts[0]);
+        return parts[0].equals("customerNumber") ? customerSort : customerSort.and(byCustomerNumber);
+    }
+
     /**
      * CREATE Customer
      *
@@ -65,9 +287,13 @@ public class BankingServiceImpl implements BankingService {
      */
     public ResponseEntity<Object> addCustomer(CustomerDetails customerDetails) {
         if (customerDetails.isValidCustomerDetails()) {
+            if (customerRepository.existsByCustomerNumber(customerDetails.getCustomerNumber())) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Customer Number " + customerDetails.getCustomerNumber() + " already exists.");
+            }
             Customer customer = bankingServiceHelper.convertToCustomerEntity(customerDetails);
             customer.setCreateDateTime(new Date());
             customerRepository.save(customer);
+            customerCache.evict(customerDetails.getCustomerNumber());
             return ResponseEntity.status(HttpStatus.CREATED).body("New Customer created successfully.");
         } else {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid customer details.");
@@ -83,13 +309,14 @@ public class BankingServiceImpl implements BankingService {
 
     public CustomerDetails findByCustomerNumber(Long customerNumber) {
         if (isValidCustomerNumber(customerNumber)) {
-            Optional<Customer> customerEntityOpt = customerRepository.findByCustomerNumber(customerNumber);
+            CustomerDetails customerDetails = customerCache.get(customerNumber, () -> customerRepository.findByCustomerNumber(customerNumber)
+                    .map(bankingServiceHelper::convertToCustomerDomain)
+                    .orElse(null));
 
-            if (customerEntityOpt.isPresent()) {
-                CustomerDetails customerDetails = bankingServiceHelper.convertToCustomerDomain(customerEntityOpt.get());
+            if (customerDetails != null) {
 
                 if (customerDetails.isValidCustomerDetails()) {
-                    return customerDetails;
+                    return bankingServiceHelper.copyOf(customerDetails);
                 } else {
                     // Log or handle invalid customer details
                     return null;
@@ -148,6 +375,7 @@ public class BankingServiceImpl implements BankingService {
                 managedCustomerEntity.setUpdateDateTime(new Date());
 
                 customerRepository.save(managedCustomerEntity);
+                customerCache.evict(customerNumber);
 
                 return ResponseEntity.status(HttpStatus.OK).body("Success: Customer updated.");
             } else {
@@ -162,28 +390,75 @@ public class BankingServiceImpl implements BankingService {
 
 
     /**
-     * DELETE Customer
+     * DELETE Customer, archiving the transactions of its accounts
      *
      * @param customerNumber
      * @return
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ResponseEntity<Object> deleteCustomer(Long customerNumber) {
-        if (isValidCustomerNumber(customerNumber)) {
-            Optional<Customer> managedCustomerEntityOpt = customerRepository.findByCustomerNumber(customerNumber);
+        return deleteCustomer(customerNumber, true);
+    }
 
-            if (managedCustomerEntityOpt.isPresent()) {
-                Customer managedCustomerEntity = managedCustomerEntityOpt.get();
-                customerRepository.delete(managedCustomerEntity);
+    /**
+     * DELETE Customer with its accounts, their transactions and balance snapshots and its
+     * CustomerAccountXRef rows, in one transaction. Each table is cleared with one bulk
+     * statement keyed on the customer's xref rows, and transactions are archived with one
+     * insert-select, so no row is loaded however long the history. The other customer's leg of
+     * a transfer between them is kept; reconciliation does not expect its deleted counterpart.
+     * In LEDGER mode, transfers on the accounts are held off until the accounts are gone.
+     *
+     * @param customerNumber
+     * @param archiveTransactions copy the transactions to TransactionArchive before deleting them
+     * @return
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Object> deleteCustomer(Long customerNumber, boolean archiveTransactions) {
+        if (!isValidCustomerNumber(customerNumber)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid customer number.");
+        }
 
-                // TODO: Add logic to delete all customer entries from CustomerAccountXRef
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<Long> accountNumbers;
+        ResponseEntity<Object> response;
+        do {
+            // read ahead of the deletion for the LEDGER hold; the deletion re-reads them under the
+            // customer row lock, which addNewAccount also takes, and gives up if they changed
+            List<Long> heldAccountNumbers = custAccXRefRepository.findAccountNumbersByCustomerNumber(customerNumber);
+            Supplier<ResponseEntity<Object>> deletion = () -> transactionTemplate.execute(status -> {
+                Optional<Customer> managedCustomerEntityOpt = customerRepository.findByCustomerNumberForUpdate(customerNumber);
+                if (!managedCustomerEntityOpt.isPresent()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
+                }
+                if (!new HashSet<>(custAccXRefRepository.findAccountNumbersByCustomerNumber(customerNumber)).equals(new HashSet<>(heldAccountNumbers))) {
+                    return null;
+                }
 
-                return ResponseEntity.status(HttpStatus.OK).body("Success: Customer deleted.");
-            } else {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
-            }
-        } else {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid customer number.");
+                if (archiveTransactions) {
+                    transactionArchiveRepository.archiveByCustomerNumber(customerNumber, new Date());
+                }
+                int transactions = transactionRepository.deleteByCustomerNumber(customerNumber);
+                balanceSnapshotRepository.deleteByCustomerNumber(customerNumber);
+                int accounts = accountRepository.deleteByCustomerNumber(customerNumber);
+                custAccXRefRepository.deleteByCustomerNumber(customerNumber);
+                customerRepository.delete(managedCustomerEntityOpt.get());
+
+                return ResponseEntity.status(HttpStatus.OK).body("Success: Customer deleted with " + accounts + " accounts and "
+                        + transactions + (archiveTransactions ? " archived" : "") + " transactions.");
+            });
+
+            response = lockingMode == AccountLockingMode.LEDGER
+                    ? ledgerEngine.deleteAccounts(heldAccountNumbers, deletion)
+                    : deletion.get();
+            accountNumbers = heldAccountNumbers;
+        } while (response == null);
+
+        customerCache.evict(customerNumber);
+        for (Long accountNumber : accountNumbers) {
+            accountCache.evict(accountNumber);
+            accountOwnerCache.evict(accountNumber);
         }
+        return response;
     }
 
     private boolean isValidCustomerNumber(Long customerNumber) {
@@ -200,10 +475,12 @@ public class BankingServiceImpl implements BankingService {
      */
     public ResponseEntity<Object> findByAccountNumber(Long accountNumber) {
         if (isValidAccountNumber(accountNumber)) {
-            Optional<Account> accountEntityOpt = accountRepository.findByAccountNumber(accountNumber);
+            AccountInformation accountInformation = accountCache.get(accountNumber, () -> accountRepository.findByAccountNumber(accountNumber)
+                    .map(bankingServiceHelper::convertToAccountDomain)
+                    .orElse(null));
 
-            if (accountEntityOpt.isPresent()) {
-                return ResponseEntity.status(HttpStatus.FOUND).body(bankingServiceHelper.convertToAccountDomain(accountEntityOpt.get()));
+            if (accountInformation != null) {
+                return ResponseEntity.status(HttpStatus.FOUND).body(withLedgerBalance(bankingServiceHelper.copyOf(accountInformation)));
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Account Number " + accountNumber + " not found.");
             }
@@ -212,12 +489,54 @@ public class BankingServiceImpl implements BankingService {
         }
     }
 
+    /**
+     * In LEDGER mode the database balance trails the ledger until the next write-behind
+     * flush, so the ledger's balance is reported for accounts it holds.
+     */
+    private AccountInformation withLedgerBalance(AccountInformation accountInformation) {
+        Long ledgerBalanceCents = lockingMode == AccountLockingMode.LEDGER ? ledgerEngine.balanceCents(accountInformation.getAccountNumber()) : null;
+        if (ledgerBalanceCents == null) {
+            return accountInformation;
+        }
+
+        return AccountInformation.builder()
+                .accountNumber(accountInformation.getAccountNumber())
+                .bankInformation(accountInformation.getBankInformation())
+                .accountStatus(accountInformation.getAccountStatus())
+                .accountType(accountInformation.getAccountType())
+                .accountBalance(ledgerBalanceCents)
+                .accountCreated(accountInformation.getAccountCreated())
+                .build();
+    }
+
     private boolean isValidAccountNumber(Long accountNumber) {
         // Add conditions for valid account numbers
         // Example: Check if accountNumber is not null and positive
         return accountNumber != null && accountNumber > 0;
     }
 
+    /**
+     * Find all accounts of a customer
+     *
+     * @param customerNumber
+     * @return the accounts in account number order
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<Object> findAccountsByCustomerNumber(Long customerNumber) {
+        if (!isValidCustomerNumber(customerNumber)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid customer number.");
+        }
+        if (findByCustomerNumber(customerNumber) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
+        }
+
+        List<AccountInformation> accounts = new ArrayList<>();
+        for (Account account : accountRepository.findByCustomerNumber(customerNumber)) {
+            accounts.add(withLedgerBalance(bankingServiceHelper.convertToAccountDomain(account)));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(accounts);
+    }
+
     /**
      * Create new account
      *
@@ -227,12 +546,21 @@ public class BankingServiceImpl implements BankingService {
      */
     public ResponseEntity<Object> addNewAccount(AccountInformation accountInformation, Long customerNumber) {
         if (accountInformationIsValid(accountInformation) && customerNumberIsValid(customerNumber)) {
-            Optional<Customer> customerEntityOpt = customerRepository.findByCustomerNumber(customerNumber);
+            Optional<Customer> customerEntityOpt = customerRepository.findByCustomerNumberForUpdate(customerNumber);
 
             if (customerEntityOpt.isPresent()) {
                 // Add conditions for accountInformation with minimum and maximum values
                 if (isValidAccountBalance(accountInformation.getAccountBalance())) {
-                    accountRepository.save(bankingServiceHelper.convertToAccountEntity(accountInformation));
+                    if (accountRepository.existsByAccountNumber(accountInformation.getAccountNumber())) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body("Account Number " + accountInformation.getAccountNumber() + " already exists.");
+                    }
+                    Account account = bankingServiceHelper.convertToAccountEntity(accountInformation,
+                            resolveBankInfo(accountInformation.getBankInformation()));
+                    account.setCreateDateTime(new Date());
+                    accountRepository.save(account);
+                    balanceSnapshotStore.opened(accountInformation.getAccountNumber(), accountInformation.getAccountBalance());
+                    accountCache.evict(accountInformation.getAccountNumber());
+                    accountOwnerCache.evict(accountInformation.getAccountNumber());
 
                     // Add an entry to the CustomerAccountXRef
                     custAccXRefRepository.save(CustomerAccountXRef.builder()
@@ -254,10 +582,20 @@ public class BankingServiceImpl implements BankingService {
 
 // Additional helper methods
 
+    /**
+     * Branches are reference data shared by all their accounts: an existing branch with the
+     * same branch code and routing number is reused as stored, otherwise it is created.
+     */
+    private BankInfo resolveBankInfo(BankInformation bankInformation) {
+        return bankInfoRepository.findByBranchCodeAndRoutingNumber(bankInformation.getBranchCode(), bankInformation.getRoutingNumber())
+                .orElseGet(() -> bankInfoRepository.save(bankingServiceHelper.convertToBankInfoEntity(bankInformation)));
+    }
+
     private boolean accountInformationIsValid(AccountInformation accountInformation) {
         // Add conditions for minimum and maximum values for AccountInformation fields
         // Example: Check if accountBalance is within valid range
         return accountInformation != null &&
+                accountInformation.getBankInformation() != null &&
                 isValidAccountBalance(accountInformation.getAccountBalance()) &&
                 isValidAccountType(accountInformation.getAccountType()); // Add more conditions as needed
     }
@@ -275,7 +613,7 @@ public class BankingServiceImpl implements BankingService {
         return customerNumber != null && customerNumber > 0; // Add more conditions as needed
     }
 
-    private boolean isValidAccountBalance(Double accountBalance) {
+    private boolean isValidAccountBalance(Long accountBalance) {
         // Add conditions for minimum and maximum values for accountBalance
         // Example: Check if accountBalance is within a valid range
         return accountBalance != null && accountBalance >= 0; // Add more conditions as needed
@@ -283,76 +621,310 @@ public class BankingServiceImpl implements BankingService {
 
 
     /**
-     * Transfer funds from one account to another for a specific customer
+     * Transfer funds from one account to another for a specific customer.
+     * Each attempt runs in its own transaction so that a concurrency conflict
+     * (optimistic version mismatch, lock timeout) can be retried from scratch.
      *
      * @param transferDetails
      * @param customerNumber
      * @return
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ResponseEntity<Object> transferDetails(TransferDetails transferDetails, Long customerNumber) {
 
-        if (!isValidCustomerNumber(customerNumber)) {
+        if (lockingMode == AccountLockingMode.LEDGER) {
+            return executeLedgerTransfer(transferDetails, customerNumber);
+        }
+
+        return executeTransferWithRetry(transferDetails, status -> executeTransferAttempt(transferDetails, customerNumber, status));
+    }
+
+    /**
+     * Transfer funds as {@link #transferDetails(TransferDetails, Long)}, at most once per
+     * idempotency key. A retry with the key of a successful transfer gets the recorded
+     * response back, marked with the Idempotent-Replayed header, without touching the accounts.
+     * The key is looked up and recorded inside the transfer's own transaction, so a duplicate
+     * racing on another instance is rolled back by the key's primary key. In LEDGER mode the
+     * transfer is not rolled back with a transaction, so the key is claimed and committed
+     * before it runs. Rejected transfers are not recorded and may be retried with the same key.
+     *
+     * @param transferDetails
+     * @param customerNumber
+     * @param idempotencyKey client-chosen key, or null for a plain transfer
+     * @return
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Object> transferDetails(TransferDetails transferDetails, Long customerNumber, String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            return transferDetails(transferDetails, customerNumber);
+        }
+
+        if (!TransferIdempotencyStore.isValidKey(idempotencyKey)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid Idempotency-Key.");
+        }
+
+        TransferIdempotencyKey recent = transferIdempotencyStore.findRecent(idempotencyKey);
+        if (recent != null) {
+            return replayTransfer(recent, transferDetails, customerNumber);
+        }
+
+        if (!transferIdempotencyStore.begin(idempotencyKey)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A transfer with Idempotency-Key " + idempotencyKey + " is already in progress.");
+        }
+
+        try {
+            if (lockingMode == AccountLockingMode.LEDGER) {
+                return executeIdempotentLedgerTransfer(transferDetails, customerNumber, idempotencyKey);
+            }
+
+            TransactionCallback<ResponseEntity<Object>> attempt = status -> {
+                TransferIdempotencyKey stored = transferIdempotencyStore.find(idempotencyKey);
+                if (stored != null) {
+                    return replayTransfer(stored, transferDetails, customerNumber);
+                }
+
+                ResponseEntity<Object> response = executeTransferAttempt(transferDetails, customerNumber, status);
+
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    transferIdempotencyStore.record(TransferIdempotencyKey.builder()
+                            .key(idempotencyKey)
+                            .customerNumber(customerNumber)
+                            .fromAccountNumber(transferDetails.getFromAccountNumber())
+                            .toAccountNumber(transferDetails.getToAccountNumber())
+                            .transferAmount(transferDetails.getTransferAmount())
+                            .responseStatus(response.getStatusCode().value())
+                            .responseBody(String.valueOf(response.getBody()))
+                            .created(new Date())
+                            .build());
+                }
+                return response;
+            };
+
+            return executeTransferWithRetry(transferDetails, attempt);
+
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first, this transfer has been rolled back
+            return replayCommittedKey(idempotencyKey, transferDetails, customerNumber);
+        } finally {
+            transferIdempotencyStore.end(idempotencyKey);
+        }
+    }
+
+    /**
+     * LEDGER mode transfer at most once per idempotency key: the key is claimed in a committed
+     * transaction of its own before the ledger moves any money, and the response recorded after.
+     */
+    private ResponseEntity<Object> executeIdempotentLedgerTransfer(TransferDetails transferDetails, Long customerNumber, String idempotencyKey) {
+        TransferIdempotencyKey stored = transferIdempotencyStore.find(idempotencyKey);
+        if (stored != null) {
+            return replayTransfer(stored, transferDetails, customerNumber);
+        }
+
+        try {
+            transferIdempotencyStore.claim(TransferIdempotencyKey.builder()
+                    .key(idempotencyKey)
+                    .customerNumber(customerNumber)
+                    .fromAccountNumber(transferDetails.getFromAccountNumber())
+                    .toAccountNumber(transferDetails.getToAccountNumber())
+                    .transferAmount(transferDetails.getTransferAmount())
+                    .responseStatus(TransferIdempotencyKey.PENDING)
+                    .created(new Date())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Another instance claimed the same key first, nothing has been transferred here
+            return replayCommittedKey(idempotencyKey, transferDetails, customerNumber);
+        }
+
+        ResponseEntity<Object> response;
+        try {
+            response = executeLedgerTransfer(transferDetails, customerNumber);
+        } catch (RuntimeException e) {
+            transferIdempotencyStore.release(idempotencyKey);
+            throw e;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful()) {
+            transferIdempotencyStore.complete(idempotencyKey, response.getStatusCode().value(), String.valueOf(response.getBody()));
+        } else {
+            transferIdempotencyStore.release(idempotencyKey);
+        }
+        return response;
+    }
+
+    private ResponseEntity<Object> replayCommittedKey(String idempotencyKey, TransferDetails transferDetails, Long customerNumber) {
+        TransferIdempotencyKey stored = transferIdempotencyStore.find(idempotencyKey);
+        if (stored == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A transfer with Idempotency-Key " + idempotencyKey + " is already in progress.");
+        }
+        return replayTransfer(stored, transferDetails, customerNumber);
+    }
+
+    /**
+     * Answer a retried transfer with its recorded response, unless the key was used for a different transfer.
+     */
+    private ResponseEntity<Object> replayTransfer(TransferIdempotencyKey stored, TransferDetails transferDetails, Long customerNumber) {
+        if (!Objects.equals(stored.getCustomerNumber(), customerNumber)
+                || !Objects.equals(stored.getFromAccountNumber(), transferDetails.getFromAccountNumber())
+                || !Objects.equals(stored.getToAccountNumber(), transferDetails.getToAccountNumber())
+                || !Objects.equals(stored.getTransferAmount(), transferDetails.getTransferAmount())) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Idempotency-Key " + stored.getKey() + " was already used for a different transfer.");
+        }
+        if (stored.isPending()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A transfer with Idempotency-Key " + stored.getKey() + " is already in progress.");
+        }
+
+        return ResponseEntity.status(stored.getResponseStatus()).header(IDEMPOTENT_REPLAYED_HEADER, "true").body(stored.getResponseBody());
+    }
+
+    private ResponseEntity<Object> executeTransferWithRetry(TransferDetails transferDetails, TransactionCallback<ResponseEntity<Object>> attempt) {
+
+        ResponseEntity<Object> response = executeWithRetry(attempt,
+                () -> ResponseEntity.status(HttpStatus.CONFLICT).body("Transfer failed due to concurrent updates, please retry."));
+
+        evictAccounts(Arrays.asList(transferDetails.getFromAccountNumber(), transferDetails.getToAccountNumber()));
+
+        return response;
+    }
+
+    private ResponseEntity<Object> executeTransferAttempt(TransferDetails transferDetails, Long customerNumber, TransactionStatus status) {
+        return lockingMode == AccountLockingMode.ATOMIC
+                ? executeAtomicTransfer(transferDetails, customerNumber, status)
+                : executeTransfer(transferDetails, customerNumber);
+    }
+
+    /**
+     * Transfer funds for a batch of transfers of a specific customer.
+     * Transfers are applied in order, in chunks of bankapp.transfer.batch-chunk-size
+     * per transaction; the accounts of a chunk are loaded in one query and the
+     * resulting Account updates and Transaction inserts are written as JDBC batches.
+     * A transfer that fails validation is reported in its result and does not
+     * affect the other transfers of the batch.
+     *
+     * @param transferDetailsList
+     * @param customerNumber
+     * @return one TransferResult per requested transfer, in request order
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Object> transferBatch(List<TransferDetails> transferDetailsList, Long customerNumber) {
+
+        if (transferDetailsList == null || transferDetailsList.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No transfers in batch.");
+        }
+
+        if (!isValidCustomerNumber(customerNumber) || !customerRepository.findByCustomerNumber(customerNumber).isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
         }
 
-        List<Account> accountEntities = new ArrayList<>();
-        Account fromAccountEntity = null;
-        Account toAccountEntity = null;
+        List<TransferResult> transferResults = new ArrayList<>(transferDetailsList.size());
 
-        Optional<Customer> customerEntityOpt = customerRepository.findByCustomerNumber(customerNumber);
+        if (lockingMode == AccountLockingMode.LEDGER) {
+            for (TransferDetails transferDetails : transferDetailsList) {
+                transferResults.addAll(toTransferResults(Collections.singletonList(transferDetails), executeLedgerTransfer(transferDetails, customerNumber)));
+            }
+            return ResponseEntity.status(HttpStatus.OK).body(transferResults);
+        }
 
-        // If customer is present
-        if (customerEntityOpt.isPresent()) {
+        for (int start = 0; start < transferDetailsList.size(); start += transferBatchChunkSize) {
+            List<TransferDetails> chunk = transferDetailsList.subList(start, Math.min(start + transferBatchChunkSize, transferDetailsList.size()));
 
-            // get FROM ACCOUNT info
-            Optional<Account> fromAccountEntityOpt = accountRepository.findByAccountNumber(transferDetails.getFromAccountNumber());
-            if (fromAccountEntityOpt.isPresent()) {
-                fromAccountEntity = fromAccountEntityOpt.get();
-            } else {
-                // if from request does not exist, 404 Bad Request
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("From Account Number " + transferDetails.getFromAccountNumber() + " not found.");
+            transferResults.addAll(executeWithRetry(status -> executeTransferChunk(chunk, customerNumber),
+                    () -> toTransferResults(chunk, ResponseEntity.status(HttpStatus.CONFLICT).body("Transfer failed due to concurrent updates, please retry."))));
+
+            List<Long> chunkAccountNumbers = new ArrayList<>(chunk.size() * 2);
+            for (TransferDetails transferDetails : chunk) {
+                chunkAccountNumbers.add(transferDetails.getFromAccountNumber());
+                chunkAccountNumbers.add(transferDetails.getToAccountNumber());
             }
+            evictAccounts(chunkAccountNumbers);
+        }
 
+        return ResponseEntity.status(HttpStatus.OK).body(transferResults);
+    }
 
-            // get TO ACCOUNT info
-            Optional<Account> toAccountEntityOpt = accountRepository.findByAccountNumber(transferDetails.getToAccountNumber());
-            if (toAccountEntityOpt.isPresent()) {
-                toAccountEntity = toAccountEntityOpt.get();
-            } else {
-                // if from request does not exist, 404 Bad Request
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + transferDetails.getToAccountNumber() + " not found.");
+    /**
+     * A transfer may only debit an account of the customer it is made for. The owner comes from
+     * the account owners cache, so the check costs no database round-trip once an account is
+     * known. Unknown accounts pass here and are reported as not found by the transfer itself.
+     *
+     * @param transferDetails
+     * @param customerNumber
+     * @return the rejection, or null if the customer owns the from account
+     */
+    private ResponseEntity<Object> checkFromAccountOwner(TransferDetails transferDetails, Long customerNumber) {
+        Long fromAccountNumber = transferDetails.getFromAccountNumber();
+        if (fromAccountNumber == null) {
+            return null;
+        }
+
+        Long owner = accountOwnerCache.get(fromAccountNumber, () -> custAccXRefRepository.findCustomerNumberByAccountNumber(fromAccountNumber).orElse(null));
+        if (owner != null && !owner.equals(customerNumber)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("From Account Number " + fromAccountNumber + " does not belong to Customer Number " + customerNumber + ".");
+        }
+        return null;
+    }
+
+    /**
+     * Drop cached lookups of accounts whose balance a transfer may have changed.
+     * Called once the transfer transaction has completed, whatever its outcome.
+     */
+    private void evictAccounts(Collection<Long> accountNumbers) {
+        for (Long accountNumber : accountNumbers) {
+            if (accountNumber != null) {
+                accountCache.evict(accountNumber);
             }
+        }
+    }
+
+    /**
+     * Run the callback in a new transaction, retrying it from scratch on a
+     * concurrency failure up to bankapp.transfer.max-attempts times.
+     *
+     * @param callback
+     * @param conflictResult result to return once all attempts failed
+     * @return
+     */
+    private <T> T executeWithRetry(TransactionCallback<T> callback, Supplier<T> conflictResult) {
 
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
 
-            // if not sufficient funds, return 400 Bad Request
-            if (transferDetails.getTransferAmount() <= 0 || fromAccountEntity.getAccountBalance() < transferDetails.getTransferAmount()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid Transfer Amount or Insufficient Funds.");
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(callback);
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= transferMaxAttempts) {
+                    return conflictResult.get();
+                }
             }
+        }
+    }
 
-            synchronized (this) {
-                // update FROM ACCOUNT
-                fromAccountEntity.setAccountBalance(fromAccountEntity.getAccountBalance() - transferDetails.getTransferAmount());
-                fromAccountEntity.setUpdateDateTime(new Date());
-                accountEntities.add(fromAccountEntity);
+    private ResponseEntity<Object> executeTransfer(TransferDetails transferDetails, Long customerNumber) {
 
-                // update TO ACCOUNT
-                toAccountEntity.setAccountBalance(toAccountEntity.getAccountBalance() + transferDetails.getTransferAmount());
-                toAccountEntity.setUpdateDateTime(new Date());
-                accountEntities.add(toAccountEntity);
+        if (!isValidCustomerNumber(customerNumber)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
+        }
 
-                accountRepository.saveAll(accountEntities);
+        Optional<Customer> customerEntityOpt = customerRepository.findByCustomerNumber(customerNumber);
 
-                // Create transaction for FROM Account
-                Transaction fromTransaction = bankingServiceHelper.createTransaction(transferDetails, fromAccountEntity.getAccountNumber(), "DEBIT");
-                transactionRepository.save(fromTransaction);
+        // If customer is present
+        if (customerEntityOpt.isPresent()) {
 
-                // Create transaction for TO Account
-                Transaction toTransaction = bankingServiceHelper.createTransaction(transferDetails, toAccountEntity.getAccountNumber(), "CREDIT");
-                transactionRepository.save(toTransaction);
+            if (lockingMode == AccountLockingMode.LOCAL) {
+                // Lock both accounts until the transaction completes, so balances read below
+                // cannot be changed by a concurrent transfer before this one commits.
+                lockAccountsUntilCompletion(transferDetails.getFromAccountNumber(), transferDetails.getToAccountNumber());
             }
 
-            return ResponseEntity.status(HttpStatus.OK).body("Success: Amount transferred for Customer Number " + customerNumber);
+            Map<Long, Account> transferAccounts = loadTransferAccounts(Arrays.asList(transferDetails.getFromAccountNumber(), transferDetails.getToAccountNumber()));
+            List<Transaction> transactions = new ArrayList<>(2);
+
+            ResponseEntity<Object> response = applyTransfer(transferDetails, customerNumber, transferAccounts, transactions);
+
+            transactionRepository.saveAll(transactions);
+            balanceSnapshotStore.record(transactions);
 
+            return response;
 
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
@@ -360,6 +932,292 @@ public class BankingServiceImpl implements BankingService {
 
     }
 
+    private List<TransferResult> executeTransferChunk(List<TransferDetails> chunk, Long customerNumber) {
+
+        List<Long> accountNumbers = new ArrayList<>(chunk.size() * 2);
+        for (TransferDetails transferDetails : chunk) {
+            accountNumbers.add(transferDetails.getFromAccountNumber());
+            accountNumbers.add(transferDetails.getToAccountNumber());
+        }
+
+        if (lockingMode == AccountLockingMode.LOCAL) {
+            lockAccountsUntilCompletion(accountNumbers.toArray(new Long[0]));
+        }
+
+        Map<Long, Account> transferAccounts = loadTransferAccounts(accountNumbers);
+        List<Transaction> transactions = new ArrayList<>(chunk.size() * 2);
+        List<TransferResult> transferResults = new ArrayList<>(chunk.size());
+
+        for (TransferDetails transferDetails : chunk) {
+            transferResults.addAll(toTransferResults(Collections.singletonList(transferDetails),
+                    applyTransfer(transferDetails, customerNumber, transferAccounts, transactions)));
+        }
+
+        // Dirty Account entities are flushed at commit, batched together with these inserts
+        transactionRepository.saveAll(transactions);
+        balanceSnapshotStore.record(transactions);
+
+        return transferResults;
+    }
+
+    /**
+     * Validate a transfer against already loaded accounts and, if valid, apply it
+     * to their balances and append its DEBIT and CREDIT rows to transactions.
+     * Nothing is changed when the transfer is rejected.
+     *
+     * @param transferDetails
+     * @param customerNumber
+     * @param accounts managed Account entities keyed by account number
+     * @param transactions collects the Transaction rows to persist
+     * @return
+     */
+    private ResponseEntity<Object> applyTransfer(TransferDetails transferDetails, Long customerNumber,
+                                                 Map<Long, Account> accounts, List<Transaction> transactions) {
+
+        // get FROM ACCOUNT info
+        Account fromAccountEntity = accounts.get(transferDetails.getFromAccountNumber());
+        if (fromAccountEntity == null) {
+            // if from request does not exist, 404 Bad Request
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("From Account Number " + transferDetails.getFromAccountNumber() + " not found.");
+        }
+        ResponseEntity<Object> notOwner = checkFromAccountOwner(transferDetails, customerNumber);
+        if (notOwner != null) {
+            return notOwner;
+        }
+
+        // get TO ACCOUNT info
+        Account toAccountEntity = accounts.get(transferDetails.getToAccountNumber());
+        if (toAccountEntity == null) {
+            // if from request does not exist, 404 Bad Request
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + transferDetails.getToAccountNumber() + " not found.");
+        }
+
+        // if not sufficient funds, return 400 Bad Request
+        if (transferDetails.getTransferAmount() == null || transferDetails.getTransferAmount() <= 0
+                || fromAccountEntity.getAccountBalance() < transferDetails.getTransferAmount()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INSUFFICIENT_FUNDS);
+        }
+        long transferAmount = transferDetails.getTransferAmount();
+
+        // update FROM ACCOUNT
+        fromAccountEntity.setAccountBalance(fromAccountEntity.getAccountBalance() - transferAmount);
+        fromAccountEntity.setUpdateDateTime(new Date());
+
+        // update TO ACCOUNT
+        toAccountEntity.setAccountBalance(toAccountEntity.getAccountBalance() + transferAmount);
+        toAccountEntity.setUpdateDateTime(new Date());
+
+        // Create transactions for FROM and TO Account
+        transactions.addAll(bankingServiceHelper.createTransferTransactions(transferDetails));
+
+        return ResponseEntity.status(HttpStatus.OK).body("Success: Amount transferred for Customer Number " + customerNumber);
+    }
+
+    private List<TransferResult> toTransferResults(List<TransferDetails> transfers, ResponseEntity<Object> response) {
+
+        List<TransferResult> transferResults = new ArrayList<>(transfers.size());
+        for (TransferDetails transferDetails : transfers) {
+            transferResults.add(TransferResult.builder()
+                    .fromAccountNumber(transferDetails.getFromAccountNumber())
+                    .toAccountNumber(transferDetails.getToAccountNumber())
+                    .transferAmount(transferDetails.getTransferAmount())
+                    .status(response.getStatusCode().value())
+                    .message(String.valueOf(response.getBody()))
+                    .build());
+        }
+        return transferResults;
+    }
+
+    /**
+     * Transfer using conditional UPDATE statements instead of loading and saving both
+     * Account entities: the debit doubles as the funds check, so a transfer costs one
+     * round-trip per account. Both updates run in ascending account number order so that
+     * opposing transfers take the row locks in the same order.
+     *
+     * @param transferDetails
+     * @param customerNumber
+     * @param status
+     * @return
+     */
+    private ResponseEntity<Object> executeAtomicTransfer(TransferDetails transferDetails, Long customerNumber, TransactionStatus status) {
+
+        if (!isValidCustomerNumber(customerNumber) || !customerRepository.findByCustomerNumber(customerNumber).isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
+        }
+
+        Long fromAccountNumber = transferDetails.getFromAccountNumber();
+        Long toAccountNumber = transferDetails.getToAccountNumber();
+
+        if (fromAccountNumber == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("From Account Number " + fromAccountNumber + " not found.");
+        }
+        if (toAccountNumber == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + toAccountNumber + " not found.");
+        }
+        ResponseEntity<Object> notOwner = checkFromAccountOwner(transferDetails, customerNumber);
+        if (notOwner != null) {
+            return notOwner;
+        }
+        if (transferDetails.getTransferAmount() == null || transferDetails.getTransferAmount() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INSUFFICIENT_FUNDS);
+        }
+        long transferAmount = transferDetails.getTransferAmount();
+
+        Date updateDateTime = new Date();
+        boolean debitFirst = fromAccountNumber <= toAccountNumber;
+
+        if (!debitFirst && rowLockStatement.record(() -> accountRepository.credit(toAccountNumber, transferAmount, updateDateTime)) == 0) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + toAccountNumber + " not found.");
+        }
+
+        if (rowLockStatement.record(() -> accountRepository.debit(fromAccountNumber, transferAmount, updateDateTime)) == 0) {
+            status.setRollbackOnly();
+            if (!accountRepository.existsByAccountNumber(fromAccountNumber)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("From Account Number " + fromAccountNumber + " not found.");
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INSUFFICIENT_FUNDS);
+        }
+
+        if (debitFirst && rowLockStatement.record(() -> accountRepository.credit(toAccountNumber, transferAmount, updateDateTime)) == 0) {
+            status.setRollbackOnly();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + toAccountNumber + " not found.");
+        }
+
+        // Create transactions for FROM and TO Account
+        List<Transaction> transactions = bankingServiceHelper.createTransferTransactions(transferDetails);
+        transactionRepository.saveAll(transactions);
+        balanceSnapshotStore.record(transactions);
+
+        return ResponseEntity.status(HttpStatus.OK).body("Success: Amount transferred for Customer Number " + customerNumber);
+    }
+
+    /**
+     * Transfer against the in-memory ledger. No database transaction is involved: the
+     * ledger journals the transfer and writes it to the Account and Transaction tables
+     * asynchronously.
+     *
+     * @param transferDetails
+     * @param customerNumber
+     * @return
+     */
+    private ResponseEntity<Object> executeLedgerTransfer(TransferDetails transferDetails, Long customerNumber) {
+
+        if (findByCustomerNumber(customerNumber) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
+        }
+
+        Long fromAccountNumber = transferDetails.getFromAccountNumber();
+        Long toAccountNumber = transferDetails.getToAccountNumber();
+
+        if (fromAccountNumber == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("From Account Number " + fromAccountNumber + " not found.");
+        }
+        if (toAccountNumber == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + toAccountNumber + " not found.");
+        }
+
+        if (transferDetails.getTransferAmount() == null || transferDetails.getTransferAmount() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INSUFFICIENT_FUNDS);
+        }
+
+        ResponseEntity<Object> notOwner = checkFromAccountOwner(transferDetails, customerNumber);
+        if (notOwner != null) {
+            return notOwner;
+        }
+
+        switch (ledgerEngine.transfer(fromAccountNumber, toAccountNumber, transferDetails.getTransferAmount())) {
+            case FROM_ACCOUNT_NOT_FOUND:
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("From Account Number " + fromAccountNumber + " not found.");
+            case TO_ACCOUNT_NOT_FOUND:
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("To Account Number " + toAccountNumber + " not found.");
+            case INSUFFICIENT_FUNDS:
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(INSUFFICIENT_FUNDS);
+            default:
+                return ResponseEntity.status(HttpStatus.OK).body("Success: Amount transferred for Customer Number " + customerNumber);
+        }
+    }
+
+    /**
+     * Load the accounts taking part in a transfer in one query, in ascending account
+     * number order. In PESSIMISTIC and ATOMIC mode the rows are locked as they are read;
+     * the fixed order keeps two opposing transfers from deadlocking on each other's row locks.
+     *
+     * @param accountNumbers
+     * @return accounts found, keyed by account number
+     */
+    private Map<Long, Account> loadTransferAccounts(Collection<Long> accountNumbers) {
+        Set<Long> distinctAccountNumbers = new HashSet<>(accountNumbers);
+        distinctAccountNumbers.remove(null);
+
+        Map<Long, Account> accounts = new HashMap<>();
+        if (distinctAccountNumbers.isEmpty()) {
+            return accounts;
+        }
+
+        List<Account> accountEntities = lockingMode == AccountLockingMode.PESSIMISTIC || lockingMode == AccountLockingMode.ATOMIC
+                ? rowLockStatement.record(() -> accountRepository.findByAccountNumberInForUpdate(distinctAccountNumbers))
+                : accountRepository.findByAccountNumberInOrderByAccountNumber(distinctAccountNumbers);
+        accountEntities.forEach(account -> accounts.put(account.getAccountNumber(), account));
+
+        return accounts;
+    }
+
+    /**
+     * Acquire the striped account locks and hold them until the surrounding
+     * transaction commits or rolls back. Releasing at method exit would let a
+     * concurrent transfer read the old balance before this one is flushed.
+     *
+     * @param accountNumbers
+     */
+    private void lockAccountsUntilCompletion(Long... accountNumbers) {
+        List<Lock> locks = accountLockManager.acquire(accountNumbers);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accountLockManager.release(locks);
+                }
+            });
+        } else {
+            accountLockManager.release(locks);
+        }
+    }
+
+    /**
+     * Balance of an account as of an instant, after all its transactions before asOf,
+     * computed from the nearest daily balance snapshot rather than the full history.
+     * In LEDGER mode journaled transfers are written to the database first.
+     *
+     * @param accountNumber
+     * @param asOf defaults to now
+     * @return
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<Object> findBalanceByAccountNumber(Long accountNumber, Date asOf) {
+        if (!isValidAccountNumber(accountNumber)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid account number.");
+        }
+
+        if (lockingMode == AccountLockingMode.LEDGER) {
+            ledgerEngine.flush();
+        }
+
+        Date balanceDate = asOf != null ? asOf : new Date();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Long balance = transactionTemplate.execute(status -> balanceSnapshotStore.balanceAsOf(accountNumber, balanceDate));
+
+        if (balance == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Account Number " + accountNumber + " not found.");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(AccountBalance.builder()
+                .accountNumber(accountNumber)
+                .asOf(balanceDate)
+                .balance(balance)
+                .build());
+    }
+
     /**
      * Get all transactions for a specific account
      *
@@ -382,5 +1240,147 @@ public class BankingServiceImpl implements BankingService {
         return transactionDetails;
     }
 
+    /**
+     * Get one page of transactions for a specific account, newest first.
+     * Pages are addressed by keyset cursor on (txDateTime, id) rather than by offset,
+     * so each page is a bounded range scan of the (accountNumber, txDateTime) index.
+     *
+     * @param accountNumber
+     * @param fromDate inclusive lower bound on txDateTime, or null for no bound
+     * @param toDate exclusive upper bound on txDateTime, or null for no bound
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param pageSize number of transactions per page, or null for the default
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<Object> findTransactionsByAccountNumber(Long accountNumber, Date fromDate, Date toDate, String cursor, Integer pageSize) {
+
+        if (!isValidAccountNumber(accountNumber)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid account number.");
+        }
+
+        int limit = pageSize != null ? pageSize : transactionsDefaultPageSize;
+        if (limit <= 0 || limit > transactionsMaxPageSize) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Page size must be between 1 and " + transactionsMaxPageSize + ".");
+        }
+
+        if (!accountRepository.existsByAccountNumber(accountNumber)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Account Number " + accountNumber + " not found.");
+        }
+
+        Date from = fromDate != null ? fromDate : new Date(0);
+        Date to = toDate != null ? toDate : TransactionRepository.END_OF_TIME;
+        // fetch one extra row to find out whether there is a next page
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+
+        List<Transaction> transactionEntities;
+        if (cursor == null || cursor.isEmpty()) {
+            transactionEntities = transactionRepository.findPageByAccountNumber(accountNumber, from, to, pageRequest);
+        } else {
+            TransactionCursor transactionCursor;
+            try {
+                transactionCursor = TransactionCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor.");
+            }
+            transactionEntities = transactionRepository.findPageByAccountNumberAfter(accountNumber, from, to,
+                    transactionCursor.getTxDateTime(), transactionCursor.getId(), pageRequest);
+        }
+
+        boolean hasNextPage = transactionEntities.size() > limit;
+        if (hasNextPage) {
+            transactionEntities = transactionEntities.subList(0, limit);
+        }
+
+        List<TransactionDetails> transactionDetails = new ArrayList<>(transactionEntities.size());
+        transactionEntities.forEach(transaction -> transactionDetails.add(bankingServiceHelper.convertToTransactionDomain(transaction)));
+
+        return ResponseEntity.status(HttpStatus.OK).body(TransactionPage.builder()
+                .transactions(transactionDetails)
+                .nextCursor(hasNextPage ? TransactionCursor.of(transactionEntities.get(limit - 1)).encode() : null)
+                .build());
+    }
+
+    /**
+     * Export all transactions of a specific account as a file download. Rows are streamed
+     * from the database straight to the response, so memory use does not depend on the
+     * size of the history.
+     *
+     * @param accountNumber
+     * @param fromDate inclusive lower bound on txDateTime, or null for no bound
+     * @param toDate exclusive upper bound on txDateTime, or null for no bound
+     * @param format ndjson or csv
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public ResponseEntity<StreamingResponseBody> exportTransactionsByAccountNumber(Long accountNumber, Date fromDate, Date toDate, String format) {
+
+        if (!isValidAccountNumber(accountNumber)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(textBody("Invalid account number."));
+        }
+
+        TransactionExportFormat exportFormat = TransactionExportFormat.fromName(format);
+        if (exportFormat == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(textBody("Unsupported export format " + format + "."));
+        }
+
+        if (!accountRepository.existsByAccountNumber(accountNumber)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(textBody("Account Number " + accountNumber + " not found."));
+        }
+
+        Date from = fromDate != null ? fromDate : new Date(0);
+        Date to = toDate != null ? toDate : TransactionRepository.END_OF_TIME;
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions-" + accountNumber + "." + exportFormat.getFileExtension())
+                .body(outputStream -> writeTransactions(accountNumber, from, to, exportFormat, outputStream));
+    }
+
+    private void writeTransactions(Long accountNumber, Date from, Date to, TransactionExportFormat exportFormat, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        transactionExportWriter.writeHeader(exportFormat, writer);
+        writeEntityStream(() -> transactionRepository.streamByAccountNumber(accountNumber, from, to), writer,
+                transaction -> transactionExportWriter.writeRow(exportFormat, bankingServiceHelper.convertToTransactionDomain(transaction), writer));
+        writer.flush();
+    }
+
+    /**
+     * Runs on the response writer thread, in its own read-only transaction since a
+     * repository stream needs an open connection while it is consumed. Each entity is
+     * detached once written so the persistence context does not grow with the result.
+     */
+    private <T> void writeEntityStream(Supplier<Stream<T>> query, Writer writer, EntityWriter<T> entityWriter) throws IOException {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<T> entityStream = query.get()) {
+                    entityStream.forEach(entity -> {
+                        try {
+                            entityWriter.write(entity);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        entityManager.detach(entity);
+                    });
+                }
+                return null;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface EntityWriter<T> {
+        void write(T entity) throws IOException;
+    }
+
+    private StreamingResponseBody textBody(String message) {
+        return outputStream -> outputStream.write(message.getBytes(StandardCharsets.UTF_8));
+    }
 
 }
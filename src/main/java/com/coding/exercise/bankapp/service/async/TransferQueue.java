@@ -0,0 +1,254 @@
+package com.coding.exercise.bankapp.service.async;
+
+import com.coding.exercise.bankapp.domain.TransferDetails;
+import com.coding.exercise.bankapp.domain.TransferResult;
+import com.coding.exercise.bankapp.domain.TransferStatus;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous transfer pipeline, used by the transfer endpoint when
+ * bankapp.transfer.async.enabled is set.
+ *
+ * Transfers are partitioned by their from account number over bankapp.transfer.async.partitions
+ * bounded queues, each drained by a single worker, so transfers debiting the same account are
+ * executed in submission order. A worker takes up to bankapp.transfer.async.micro-batch-size
+ * queued transfers at a time and runs consecutive transfers of the same customer through
+ * {@link BankingServiceImpl#transferBatch(List, Long)}, i.e. in as few transactions as possible.
+ * A submission to a full queue is rejected rather than waited for.
+ *
+ * Statuses are kept in memory only, for the last bankapp.transfer.async.status-retention transfers.
+ * With asynchronous transfers disabled no queues or workers are created and submissions are rejected.
+ */
+@Component
+public class TransferQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferQueue.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+
+    @Value("${bankapp.transfer.async.enabled:false}")
+    private boolean enabled;
+    @Value("${bankapp.transfer.async.partitions:8}")
+    private int partitionCount;
+    @Value("${bankapp.transfer.async.queue-capacity:1000}")
+    private int queueCapacity;
+    @Value("${bankapp.transfer.async.micro-batch-size:100}")
+    private int microBatchSize;
+    @Value("${bankapp.transfer.async.status-retention:100000}")
+    private long statusRetention;
+
+    private final List<BlockingQueue<QueuedTransfer>> partitions = new ArrayList<>();
+    private Cache<String, TransferStatus> statuses;
+    private ExecutorService workers;
+    private volatile boolean accepting;
+
+    @PostConstruct
+    void start() {
+        statuses = Caffeine.newBuilder().maximumSize(statusRetention).build();
+        if (!enabled) {
+            return;
+        }
+
+        accepting = true;
+
+        AtomicInteger workerNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(partitionCount, runnable -> {
+            Thread thread = new Thread(runnable, "transfer-queue-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<QueuedTransfer> partition = new ArrayBlockingQueue<>(queueCapacity);
+            partitions.add(partition);
+            workers.execute(() -> drain(partition));
+        }
+    }
+
+    /**
+     * Stop accepting transfers and let the workers finish the ones already queued.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        accepting = false;
+        if (workers == null) {
+            return;
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Transfer queue stopped with transfers still queued");
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a transfer for execution.
+     *
+     * @param transferDetails
+     * @param customerNumber
+     * @param idempotencyKey optional, see {@link BankingServiceImpl#transferDetails(TransferDetails, Long, String)}
+     * @return 202 with the QUEUED {@link TransferStatus}, or 429 if the transfer's queue is full
+     */
+    public ResponseEntity<Object> submit(TransferDetails transferDetails, Long customerNumber, String idempotencyKey) {
+
+        String transferId = UUID.randomUUID().toString();
+        TransferStatus queued = TransferStatus.builder().transferId(transferId).state(TransferStatus.State.QUEUED).build();
+
+        // Registered before the transfer is queued, so a fast worker cannot complete it first
+        statuses.put(transferId, queued);
+
+        if (!accepting || !partitionFor(transferDetails.getFromAccountNumber()).offer(new QueuedTransfer(transferId, transferDetails, customerNumber, idempotencyKey))) {
+            statuses.invalidate(transferId);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Transfer queue is full, please retry later.");
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(queued);
+    }
+
+    public ResponseEntity<Object> findStatus(String transferId) {
+        TransferStatus status = statuses.getIfPresent(transferId);
+        if (status == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Transfer " + transferId + " not found.");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(status);
+    }
+
+    private BlockingQueue<QueuedTransfer> partitionFor(Long fromAccountNumber) {
+        int hash = fromAccountNumber == null ? 0 : Long.hashCode(fromAccountNumber * 0x9E3779B97F4A7C15L);
+        return partitions.get(Math.floorMod(hash, partitions.size()));
+    }
+
+    private void drain(BlockingQueue<QueuedTransfer> partition) {
+        List<QueuedTransfer> microBatch = new ArrayList<>(microBatchSize);
+        while (accepting || !partition.isEmpty()) {
+            try {
+                QueuedTransfer first = partition.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                microBatch.add(first);
+                partition.drainTo(microBatch, microBatchSize - 1);
+
+                execute(microBatch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Queued transfers failed", e);
+                for (QueuedTransfer transfer : microBatch) {
+                    complete(transfer, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Transfer failed, please retry.");
+                }
+            } finally {
+                microBatch.clear();
+            }
+        }
+    }
+
+    /**
+     * Execute a micro-batch in order. Transfers with an idempotency key go through the
+     * idempotent single transfer; runs of consecutive transfers of one customer without
+     * a key are executed as one batch.
+     */
+    private void execute(List<QueuedTransfer> microBatch) {
+        int start = 0;
+        while (start < microBatch.size()) {
+            QueuedTransfer first = microBatch.get(start);
+
+            if (first.idempotencyKey != null) {
+                ResponseEntity<Object> response = bankingService.transferDetails(first.transferDetails, first.customerNumber, first.idempotencyKey);
+                complete(first, response.getStatusCode().value(), String.valueOf(response.getBody()));
+                start++;
+                continue;
+            }
+
+            int end = start + 1;
+            while (end < microBatch.size() && microBatch.get(end).idempotencyKey == null
+                    && Objects.equals(first.customerNumber, microBatch.get(end).customerNumber)) {
+                end++;
+            }
+
+            List<QueuedTransfer> run = microBatch.subList(start, end);
+            List<TransferDetails> transfers = new ArrayList<>(run.size());
+            for (QueuedTransfer transfer : run) {
+                transfers.add(transfer.transferDetails);
+            }
+
+            ResponseEntity<Object> response = bankingService.transferBatch(transfers, first.customerNumber);
+            if (response.getStatusCode() == HttpStatus.OK) {
+                @SuppressWarnings("unchecked")
+                List<TransferResult> transferResults = (List<TransferResult>) response.getBody();
+                for (int i = 0; i < run.size(); i++) {
+                    complete(run.get(i), transferResults.get(i));
+                }
+            } else {
+                for (QueuedTransfer transfer : run) {
+                    complete(transfer, response.getStatusCode().value(), String.valueOf(response.getBody()));
+                }
+            }
+            start = end;
+        }
+    }
+
+    private void complete(QueuedTransfer transfer, int status, String message) {
+        complete(transfer, TransferResult.builder()
+                .fromAccountNumber(transfer.transferDetails.getFromAccountNumber())
+                .toAccountNumber(transfer.transferDetails.getToAccountNumber())
+                .transferAmount(transfer.transferDetails.getTransferAmount())
+                .status(status)
+                .message(message)
+                .build());
+    }
+
+    private void complete(QueuedTransfer transfer, TransferResult result) {
+        statuses.put(transfer.transferId, TransferStatus.builder()
+                .transferId(transfer.transferId)
+                .state(TransferStatus.State.COMPLETED)
+                .result(result)
+                .build());
+    }
+
+    private static final class QueuedTransfer {
+
+        private final String transferId;
+        private final TransferDetails transferDetails;
+        private final Long customerNumber;
+        private final String idempotencyKey;
+
+        private QueuedTransfer(String transferId, TransferDetails transferDetails, Long customerNumber, String idempotencyKey) {
+            this.transferId = transferId;
+            this.transferDetails = transferDetails;
+            this.customerNumber = customerNumber;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.coding.exercise.bankapp.service.helper;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 import org.springframework.stereotype.Component;
 
@@ -17,6 +20,7 @@ import com.coding.exercise.bankapp.model.BankInfo;
 import com.coding.exercise.bankapp.model.Contact;
 import com.coding.exercise.bankapp.model.Customer;
 import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
 
 @Component
 public class BankingServiceHelper {
@@ -59,14 +63,14 @@ public class BankingServiceHelper {
 				.build();
 	}
 	
-	public Account convertToAccountEntity(AccountInformation accInfo) {
+	public Account convertToAccountEntity(AccountInformation accInfo, BankInfo bankInfo) {
 		
 		return Account.builder()
 				.accountType(accInfo.getAccountType())
 				.accountBalance(accInfo.getAccountBalance())
 				.accountNumber(accInfo.getAccountNumber())
 				.accountStatus(accInfo.getAccountStatus())
-				.bankInformation(convertToBankInfoEntity(accInfo.getBankInformation()))
+				.bankInformation(bankInfo)
 				.build();
 	}
 	
@@ -130,6 +134,34 @@ public class BankingServiceHelper {
 				.build();
 	}
 
+	/**
+	 * A copy of cached customer details, so that callers cannot change the cached value.
+	 */
+	public CustomerDetails copyOf(CustomerDetails customerDetails) {
+
+		return customerDetails.toBuilder()
+				.contactDetails(customerDetails.getContactDetails() == null ? null : customerDetails.getContactDetails().toBuilder().build())
+				.customerAddress(copyOf(customerDetails.getCustomerAddress()))
+				.build();
+	}
+
+	/**
+	 * A copy of cached account information, so that callers cannot change the cached value.
+	 */
+	public AccountInformation copyOf(AccountInformation accountInformation) {
+		BankInformation bankInformation = accountInformation.getBankInformation();
+
+		return accountInformation.toBuilder()
+				.bankInformation(bankInformation == null ? null : bankInformation.toBuilder().branchAddress(copyOf(bankInformation.getBranchAddress())).build())
+				.accountCreated(accountInformation.getAccountCreated() == null ? null : new Date(accountInformation.getAccountCreated().getTime()))
+				.build();
+	}
+
+	private AddressDetails copyOf(AddressDetails addressDetails) {
+
+		return addressDetails == null ? null : addressDetails.toBuilder().build();
+	}
+
 	public TransactionDetails convertToTransactionDomain(Transaction transaction) {
 		
 		return TransactionDetails.builder()
@@ -137,26 +169,52 @@ public class BankingServiceHelper {
 									.txDateTime(transaction.getTxDateTime())
 									.txType(transaction.getTxType())
 									.accountNumber(transaction.getAccountNumber())
+									.counterpartAccountNumber(transaction.getCounterpartAccountNumber())
+									.transferId(transaction.getTransferId())
 									.build();
 	}
 	
+	/**
+	 * @throws IllegalArgumentException if the transaction has no amount, which the entity cannot store
+	 */
 	public Transaction convertToTransactionEntity(TransactionDetails transactionDetails) {
 		
+		if (transactionDetails.getTxAmount() == null) {
+			throw new IllegalArgumentException("Transaction amount is required.");
+		}
+
 		return Transaction.builder()
 							.txAmount(transactionDetails.getTxAmount())
 							.txDateTime(transactionDetails.getTxDateTime())
 							.txType(transactionDetails.getTxType())
 							.accountNumber(transactionDetails.getAccountNumber())
+							.counterpartAccountNumber(transactionDetails.getCounterpartAccountNumber())
+							.transferId(transactionDetails.getTransferId())
 							.build();
 	}
 	
-	public Transaction createTransaction(TransferDetails transferDetails, Long accountNumber, String txType) {
-		
+	/**
+	 * The DEBIT and CREDIT rows of a transfer, in that order, linked by a new time-ordered transfer id.
+	 */
+	public List<Transaction> createTransferTransactions(TransferDetails transferDetails) {
+
+		UUID transferId = UuidStrategy.TIME_ORDERED.next();
+		Date txDateTime = new Date();
+		return Arrays.asList(
+				createTransaction(transferDetails, transferId, txDateTime, transferDetails.getFromAccountNumber(), transferDetails.getToAccountNumber(), "DEBIT"),
+				createTransaction(transferDetails, transferId, txDateTime, transferDetails.getToAccountNumber(), transferDetails.getFromAccountNumber(), "CREDIT"));
+	}
+
+	private Transaction createTransaction(TransferDetails transferDetails, UUID transferId, Date txDateTime,
+			Long accountNumber, Long counterpartAccountNumber, String txType) {
+
 		return Transaction.builder()
 							.accountNumber(accountNumber)
+							.counterpartAccountNumber(counterpartAccountNumber)
+							.transferId(transferId)
 							.txAmount(transferDetails.getTransferAmount())
 							.txType(txType)
-							.txDateTime(new Date())
+							.txDateTime(txDateTime)
 							.build();
 	}
 }
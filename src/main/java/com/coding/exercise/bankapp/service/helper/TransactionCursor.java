@@ -0,0 +1,46 @@
+package com.coding.exercise.bankapp.service.helper;
+
+import com.coding.exercise.bankapp.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Keyset position in an account's transaction history: the (txDateTime, id) of the
+ * last transaction returned. Exchanged with clients as an opaque URL-safe string.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionCursor {
+
+	private final Date txDateTime;
+
+	private final UUID id;
+
+	public static TransactionCursor of(Transaction transaction) {
+		return new TransactionCursor(transaction.getTxDateTime(), transaction.getId());
+	}
+
+	public String encode() {
+		String raw = txDateTime.getTime() + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param cursor
+	 * @return the decoded cursor
+	 * @throws IllegalArgumentException if the cursor was not produced by {@link #encode()}
+	 */
+	public static TransactionCursor decode(String cursor) {
+		String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		int separator = raw.indexOf(':');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Malformed cursor: " + cursor);
+		}
+		return new TransactionCursor(new Date(Long.parseLong(raw.substring(0, separator))), UUID.fromString(raw.substring(separator + 1)));
+	}
+}
@@ -0,0 +1,49 @@
+package com.coding.exercise.bankapp.service.helper;
+
+import org.springframework.http.MediaType;
+
+/**
+ * File formats for transaction history exports.
+ */
+public enum TransactionExportFormat {
+
+	/**
+	 * Newline-delimited JSON, one TransactionDetails object per line.
+	 */
+	NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+	/**
+	 * Comma-separated values with a header row.
+	 */
+	CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+	private final MediaType mediaType;
+
+	private final String fileExtension;
+
+	TransactionExportFormat(MediaType mediaType, String fileExtension) {
+		this.mediaType = mediaType;
+		this.fileExtension = fileExtension;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+
+	/**
+	 * @param name format name, case-insensitive
+	 * @return the matching format, or null if there is none
+	 */
+	public static TransactionExportFormat fromName(String name) {
+		for (TransactionExportFormat format : values()) {
+			if (format.name().equalsIgnoreCase(name)) {
+				return format;
+			}
+		}
+		return null;
+	}
+}
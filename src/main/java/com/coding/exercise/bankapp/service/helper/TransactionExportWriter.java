@@ -0,0 +1,56 @@
+package com.coding.exercise.bankapp.service.helper;
+
+import com.coding.exercise.bankapp.domain.Money;
+import com.coding.exercise.bankapp.domain.TransactionDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes transactions one row at a time in a {@link TransactionExportFormat},
+ * so an export never holds more than the current row in memory.
+ */
+@Component
+public class TransactionExportWriter {
+
+	private static final String CSV_HEADER = "accountNumber,txDateTime,txType,txAmount";
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	public void writeHeader(TransactionExportFormat format, Writer writer) throws IOException {
+		if (format == TransactionExportFormat.CSV) {
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+	}
+
+	public void writeRow(TransactionExportFormat format, TransactionDetails transaction, Writer writer) throws IOException {
+		if (format == TransactionExportFormat.NDJSON) {
+			writer.write(objectMapper.writeValueAsString(transaction));
+		} else {
+			writer.write(String.valueOf(transaction.getAccountNumber()));
+			writer.write(',');
+			writer.write(transaction.getTxDateTime() == null ? "" : DateTimeFormatter.ISO_INSTANT.format(transaction.getTxDateTime().toInstant()));
+			writer.write(',');
+			writer.write(csvValue(transaction.getTxType()));
+			writer.write(',');
+			writer.write(transaction.getTxAmount() == null ? "" : Money.toMajorUnits(transaction.getTxAmount()).toPlainString());
+		}
+		writer.write('\n');
+	}
+
+	private String csvValue(String value) {
+		if (value == null) {
+			return "";
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,155 @@
+package com.coding.exercise.bankapp.service.idempotency;
+
+import com.coding.exercise.bankapp.model.TransferIdempotencyKey;
+import com.coding.exercise.bankapp.service.repository.TransferIdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recorded outcomes of transfers submitted with an Idempotency-Key.
+ *
+ * The transfer_idempotency_key table is the source of truth; its primary key on the
+ * idempotency key makes a second insert of the same key fail, which rolls back the
+ * duplicate transfer together with it. Transfers that do not run in a database transaction
+ * (LEDGER mode) instead claim the key in a transaction of its own before transferring and
+ * complete it afterwards, so a duplicate fails on the claim before any money moves. Recently recorded keys are also held in a bounded
+ * in-memory cache (bankapp.idempotency.cache-size entries), so most retries are answered
+ * without a database round-trip. Keys with a transfer currently running on this instance
+ * are tracked so that a concurrent retry is turned away instead of waiting on that transfer.
+ */
+@Component
+public class TransferIdempotencyStore {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private TransferIdempotencyKeyRepository transferIdempotencyKeyRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Cache<String, TransferIdempotencyKey> recentKeys;
+    private final Set<String> inFlightKeys = ConcurrentHashMap.newKeySet();
+
+    public TransferIdempotencyStore(@Value("${bankapp.idempotency.cache-size:10000}") long cacheSize) {
+        this.recentKeys = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    public static boolean isValidKey(String key) {
+        return key != null && !key.trim().isEmpty() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * @param key
+     * @return the recorded outcome if it is in the in-memory cache, otherwise null
+     */
+    public TransferIdempotencyKey findRecent(String key) {
+        return recentKeys.getIfPresent(key);
+    }
+
+    /**
+     * Look the key up in the in-memory cache, then in the table by primary key.
+     *
+     * @param key
+     * @return the recorded outcome, a pending claim, or null if the key has not been recorded
+     */
+    public TransferIdempotencyKey find(String key) {
+        TransferIdempotencyKey stored = recentKeys.getIfPresent(key);
+        if (stored == null) {
+            stored = transferIdempotencyKeyRepository.findById(key).orElse(null);
+            if (stored != null && !stored.isPending()) {
+                recentKeys.put(key, stored);
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Insert the outcome in the current transaction. It is cached once the transaction
+     * commits; if another transfer committed the same key first, the commit fails with
+     * a DataIntegrityViolationException.
+     *
+     * @param stored
+     */
+    public void record(TransferIdempotencyKey stored) {
+        entityManager.persist(stored);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentKeys.put(stored.getKey(), stored);
+            }
+        });
+    }
+
+    /**
+     * Insert a pending claim of the key and commit it in a transaction of its own.
+     *
+     * @param pending outcome with {@link TransferIdempotencyKey#PENDING} as its response status
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key has already been claimed or recorded
+     */
+    public void claim(TransferIdempotencyKey pending) {
+        newTransaction().executeWithoutResult(status -> entityManager.persist(pending));
+    }
+
+    /**
+     * Record the response of a transfer whose key was claimed, and cache it.
+     *
+     * @param key
+     * @param responseStatus
+     * @param responseBody
+     */
+    public void complete(String key, int responseStatus, String responseBody) {
+        TransferIdempotencyKey stored = newTransaction().execute(status -> {
+            TransferIdempotencyKey claimed = entityManager.find(TransferIdempotencyKey.class, key);
+            claimed.setResponseStatus(responseStatus);
+            claimed.setResponseBody(responseBody);
+            return claimed;
+        });
+        recentKeys.put(key, stored);
+    }
+
+    /**
+     * Drop the claim of a transfer that was rejected, so the key may be retried.
+     *
+     * @param key
+     */
+    public void release(String key) {
+        newTransaction().executeWithoutResult(status -> transferIdempotencyKeyRepository.deleteById(key));
+    }
+
+    /**
+     * @param key
+     * @return false if a transfer with this key is already running on this instance
+     */
+    public boolean begin(String key) {
+        return inFlightKeys.add(key);
+    }
+
+    public void end(String key) {
+        inFlightKeys.remove(key);
+    }
+
+    public void clear() {
+        recentKeys.invalidateAll();
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transactionTemplate;
+    }
+}
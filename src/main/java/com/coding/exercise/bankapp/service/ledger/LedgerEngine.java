@@ -0,0 +1,314 @@
+package com.coding.exercise.bankapp.service.ledger;
+
+import com.coding.exercise.bankapp.domain.TransferDetails;
+import com.coding.exercise.bankapp.model.LedgerCheckpoint;
+import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.service.helper.BankingServiceHelper;
+import com.coding.exercise.bankapp.service.lock.AccountLockManager;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.LedgerCheckpointRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import com.coding.exercise.bankapp.service.snapshot.BalanceSnapshotStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory transfer ledger for the LEDGER locking mode.
+ *
+ * Balances of the accounts that transfers touch are held in memory, in cents, and
+ * transfers are applied there under the {@link AccountLockManager} stripes. A transfer
+ * is acknowledged once it is in the {@link LedgerJournal}; a background flusher then
+ * writes journaled transfers to the Account and Transaction tables in batches, as
+ * balance deltas, together with the {@link LedgerCheckpoint}. On startup, balances are
+ * rebuilt from the database plus the journal entries after the checkpoint.
+ *
+ * The ledger owns the balances of the accounts it has loaded, so it must be the only
+ * writer of those balances while the application runs in LEDGER mode.
+ */
+@Component
+public class LedgerEngine {
+
+    static final String CHECKPOINT_NAME = "ledger";
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private LedgerCheckpointRepository ledgerCheckpointRepository;
+    @Autowired
+    private BankingServiceHelper bankingServiceHelper;
+    @Autowired
+    private BalanceSnapshotStore balanceSnapshotStore;
+    @Autowired
+    private AccountLockManager accountLockManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${bankapp.ledger.journal-path:data/ledger.journal}")
+    private String journalPath;
+    @Value("${bankapp.ledger.fsync:true}")
+    private boolean fsync;
+    @Value("${bankapp.ledger.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+    @Value("${bankapp.ledger.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private final Map<Long, Balance> balances = new ConcurrentHashMap<>();
+
+    private volatile LedgerJournal journal;
+    private ScheduledExecutorService flusher;
+    private volatile boolean failed;
+
+    /**
+     * Replay a journal left behind by a previous run, so its unflushed transfers are
+     * reflected in memory and written to the database.
+     */
+    @PostConstruct
+    void recover() throws IOException {
+        if (!Files.exists(Paths.get(journalPath))) {
+            return;
+        }
+
+        LedgerJournal recovered = start();
+        for (LedgerEntry entry : recovered.unflushed()) {
+            Balance from = balanceOf(entry.getFromAccountNumber());
+            Balance to = balanceOf(entry.getToAccountNumber());
+            if (from == null || to == null) {
+                throw new IllegalStateException("Ledger journal " + journalPath + " entry " + entry.getSequence()
+                        + " references an unknown account.");
+            }
+            from.cents -= entry.getAmountCents();
+            to.cents += entry.getAmountCents();
+        }
+    }
+
+    /**
+     * Apply a transfer to the in-memory balances and journal it.
+     *
+     * @param fromAccountNumber
+     * @param toAccountNumber
+     * @param amountCents
+     * @return
+     * @throws UncheckedIOException if the journal cannot be written; the ledger then rejects
+     *         all further transfers until it is restarted and recovered
+     */
+    public LedgerTransferOutcome transfer(long fromAccountNumber, long toAccountNumber, long amountCents) {
+
+        LedgerJournal ledgerJournal = journal != null ? journal : start();
+        if (failed) {
+            throw new IllegalStateException("Ledger journal " + journalPath + " is unavailable.");
+        }
+
+        List<Lock> locks = accountLockManager.acquire(fromAccountNumber, toAccountNumber);
+        try {
+            Balance from = balanceOf(fromAccountNumber);
+            if (from == null) {
+                return LedgerTransferOutcome.FROM_ACCOUNT_NOT_FOUND;
+            }
+            Balance to = balanceOf(toAccountNumber);
+            if (to == null) {
+                return LedgerTransferOutcome.TO_ACCOUNT_NOT_FOUND;
+            }
+            if (from.cents < amountCents) {
+                return LedgerTransferOutcome.INSUFFICIENT_FUNDS;
+            }
+
+            LedgerEntry entry = ledgerJournal.append(fromAccountNumber, toAccountNumber, amountCents, System.currentTimeMillis());
+            ledgerJournal.sync(entry.getSequence());
+
+            from.cents -= amountCents;
+            to.cents += amountCents;
+            return LedgerTransferOutcome.SUCCESS;
+        } catch (IOException e) {
+            failed = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            accountLockManager.release(locks);
+        }
+    }
+
+    /**
+     * Current balance of an account the ledger has loaded.
+     *
+     * @param accountNumber
+     * @return the balance in cents, or null if the ledger does not hold the account
+     */
+    public Long balanceCents(Long accountNumber) {
+        Balance balance = balances.get(accountNumber);
+        return balance != null ? balance.cents : null;
+    }
+
+    /**
+     * Delete accounts the ledger may hold. Transfers on the accounts wait on their locks while
+     * the journaled transfers are written and the deletion runs, and the accounts' balances are
+     * dropped afterwards, so no transfer can be journaled against a deleted account.
+     *
+     * @param accountNumbers
+     * @param deletion deletes the accounts in a transaction of its own
+     * @return the deletion's result
+     */
+    public <T> T deleteAccounts(Collection<Long> accountNumbers, Supplier<T> deletion) {
+        List<Lock> locks = accountLockManager.acquire(accountNumbers.toArray(new Long[0]));
+        try {
+            flush();
+            T result = deletion.get();
+            accountNumbers.forEach(balances::remove);
+            return result;
+        } finally {
+            accountLockManager.release(locks);
+        }
+    }
+
+    /**
+     * Write all journaled transfers to the database, one transaction per
+     * bankapp.ledger.flush-batch-size entries.
+     *
+     * @return number of entries written
+     */
+    public synchronized int flush() {
+        LedgerJournal ledgerJournal = journal;
+        if (ledgerJournal == null) {
+            return 0;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int flushed = 0;
+        List<LedgerEntry> batch;
+        while (!(batch = ledgerJournal.peek(flushBatchSize)).isEmpty()) {
+            List<LedgerEntry> entries = batch;
+            transactionTemplate.execute(status -> {
+                writeEntries(entries);
+                return null;
+            });
+            try {
+                ledgerJournal.remove(entries.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            flushed += entries.size();
+        }
+        return flushed;
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        if (journal != null) {
+            flush();
+            journal.close();
+        }
+    }
+
+    private synchronized LedgerJournal start() {
+        if (journal != null) {
+            return journal;
+        }
+
+        long checkpoint = ledgerCheckpointRepository.findById(CHECKPOINT_NAME).map(LedgerCheckpoint::getLastSequence).orElse(0L);
+        try {
+            journal = LedgerJournal.open(Paths.get(journalPath), fsync, checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        return journal;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // entries stay in the journal and are retried on the next run
+            log.error("Ledger write-behind failed", e);
+        }
+    }
+
+    /**
+     * Net balance change per account is applied in ascending account number order, then
+     * the DEBIT and CREDIT rows of every entry are inserted as one JDBC batch.
+     */
+    private void writeEntries(List<LedgerEntry> entries) {
+
+        Map<Long, Long> deltas = new TreeMap<>();
+        List<Transaction> transactions = new ArrayList<>(entries.size() * 2);
+
+        for (LedgerEntry entry : entries) {
+            deltas.merge(entry.getFromAccountNumber(), -entry.getAmountCents(), Long::sum);
+            deltas.merge(entry.getToAccountNumber(), entry.getAmountCents(), Long::sum);
+
+            TransferDetails transferDetails = new TransferDetails(entry.getFromAccountNumber(), entry.getToAccountNumber(), entry.getAmountCents());
+            Date txDateTime = new Date(entry.getTimestamp());
+            for (Transaction transaction : bankingServiceHelper.createTransferTransactions(transferDetails)) {
+                transaction.setTxDateTime(txDateTime);
+                transactions.add(transaction);
+            }
+        }
+
+        Date updateDateTime = new Date();
+        deltas.forEach((accountNumber, deltaCents) -> {
+            if (deltaCents != 0) {
+                // a credit of a signed amount: the ledger has already checked the funds
+                accountRepository.credit(accountNumber, deltaCents, updateDateTime);
+            }
+        });
+        transactionRepository.saveAll(transactions);
+        balanceSnapshotStore.record(transactions);
+        ledgerCheckpointRepository.save(new LedgerCheckpoint(CHECKPOINT_NAME, entries.get(entries.size() - 1).getSequence()));
+    }
+
+    /**
+     * Must be called with the account's lock stripe held.
+     */
+    private Balance balanceOf(long accountNumber) {
+        Balance balance = balances.get(accountNumber);
+        if (balance == null) {
+            balance = accountRepository.findByAccountNumber(accountNumber)
+                    .map(account -> new Balance(account.getAccountBalance()))
+                    .orElse(null);
+            if (balance != null) {
+                balances.put(accountNumber, balance);
+            }
+        }
+        return balance;
+    }
+
+    private static final class Balance {
+
+        private volatile long cents;
+
+        private Balance(long cents) {
+            this.cents = cents;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.coding.exercise.bankapp.service.ledger;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One transfer as recorded in the ledger journal. Amounts are in cents.
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerEntry {
+
+	private final long sequence;
+
+	private final long fromAccountNumber;
+
+	private final long toAccountNumber;
+
+	private final long amountCents;
+
+	private final long timestamp;
+}
@@ -0,0 +1,182 @@
+package com.coding.exercise.bankapp.service.ledger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Append-only file of ledger entries, one line per transfer:
+ * {@code sequence from to amountCents timestamp}.
+ *
+ * Entries are queued for write-behind in sequence order as they are appended, and
+ * stay queued until {@link #remove(int)} is called for them after they were written to
+ * the database. Once every appended entry has been written, the file is truncated.
+ */
+class LedgerJournal implements Closeable {
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final Queue<LedgerEntry> unflushed = new ConcurrentLinkedQueue<>();
+    private final Object syncLock = new Object();
+
+    private long lastSequence;
+    private volatile long syncedSequence;
+
+    private LedgerJournal(FileChannel channel, boolean fsync) {
+        this.channel = channel;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Open the journal, queueing every entry after the given checkpoint for write-behind.
+     * A torn last line from a crash mid-append is cut off.
+     *
+     * @param path
+     * @param fsync force every append to disk before it is acknowledged
+     * @param checkpoint sequence of the last entry already written to the database
+     * @return
+     * @throws IOException
+     */
+    static LedgerJournal open(Path path, boolean fsync, long checkpoint) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        LedgerJournal journal = new LedgerJournal(channel, fsync);
+        journal.lastSequence = checkpoint;
+
+        long validLength = 0;
+        InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(0)));
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b != '\n') {
+                line.write(b);
+                continue;
+            }
+            LedgerEntry entry = parse(new String(line.toByteArray(), StandardCharsets.US_ASCII));
+            if (entry == null) {
+                break;
+            }
+            validLength += line.size() + 1;
+            line.reset();
+            if (entry.getSequence() > checkpoint) {
+                journal.unflushed.add(entry);
+                journal.lastSequence = entry.getSequence();
+            }
+        }
+
+        channel.truncate(validLength);
+        channel.position(validLength);
+        journal.syncedSequence = journal.lastSequence;
+        return journal;
+    }
+
+    /**
+     * Entries not yet written to the database, oldest first.
+     */
+    List<LedgerEntry> unflushed() {
+        return new ArrayList<>(unflushed);
+    }
+
+    /**
+     * Write a transfer to the journal and queue it for write-behind.
+     * The entry is durable once {@link #sync(long)} returns for its sequence.
+     */
+    synchronized LedgerEntry append(long fromAccountNumber, long toAccountNumber, long amountCents, long timestamp) throws IOException {
+        LedgerEntry entry = new LedgerEntry(lastSequence + 1, fromAccountNumber, toAccountNumber, amountCents, timestamp);
+
+        ByteBuffer buffer = ByteBuffer.wrap(format(entry).getBytes(StandardCharsets.US_ASCII));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        lastSequence = entry.getSequence();
+        unflushed.add(entry);
+        return entry;
+    }
+
+    /**
+     * Wait until the entry with the given sequence is on disk. Concurrent callers share
+     * a single force of everything appended so far.
+     */
+    void sync(long sequence) throws IOException {
+        if (!fsync || syncedSequence >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            long target;
+            synchronized (this) {
+                target = lastSequence;
+            }
+            channel.force(false);
+            syncedSequence = target;
+        }
+    }
+
+    /**
+     * Up to maxEntries of the oldest entries not yet written to the database.
+     */
+    List<LedgerEntry> peek(int maxEntries) {
+        List<LedgerEntry> entries = new ArrayList<>(Math.min(maxEntries, 1024));
+        Iterator<LedgerEntry> iterator = unflushed.iterator();
+        while (entries.size() < maxEntries && iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+
+    /**
+     * Drop the given number of oldest entries once they are written to the database,
+     * truncating the file if nothing else was appended meanwhile.
+     */
+    synchronized void remove(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            unflushed.poll();
+        }
+        if (unflushed.isEmpty()) {
+            channel.truncate(0);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static String format(LedgerEntry entry) {
+        return entry.getSequence() + " " + entry.getFromAccountNumber() + " " + entry.getToAccountNumber() + " "
+                + entry.getAmountCents() + " " + entry.getTimestamp() + "\n";
+    }
+
+    private static LedgerEntry parse(String line) {
+        String[] fields = line.split(" ");
+        if (fields.length != 5) {
+            return null;
+        }
+        try {
+            return new LedgerEntry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.coding.exercise.bankapp.service.ledger;
+
+public enum LedgerTransferOutcome {
+
+    SUCCESS,
+
+    FROM_ACCOUNT_NOT_FOUND,
+
+    TO_ACCOUNT_NOT_FOUND,
+
+    INSUFFICIENT_FUNDS
+}
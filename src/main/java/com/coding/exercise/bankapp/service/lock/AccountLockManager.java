@@ -0,0 +1,85 @@
+package com.coding.exercise.bankapp.service.lock;
+
+import com.coding.exercise.bankapp.service.metrics.BankingOperationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks keyed by account number.
+ *
+ * Transfers on disjoint accounts map to different stripes and run in parallel,
+ * while transfers touching the same account serialize. Stripes are always
+ * acquired in ascending stripe order so two transfers in opposite directions
+ * can never deadlock. Time spent waiting for the stripes is recorded as the
+ * bankapp.transfer.lock.wait timer.
+ */
+@Component
+public class AccountLockManager {
+
+    private final Lock[] stripes;
+    private final Timer lockWait;
+
+    public AccountLockManager(@Value("${bankapp.transfer.lock-stripes:1024}") int stripeCount, MeterRegistry meterRegistry) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Lock stripe count must be positive: " + stripeCount);
+        }
+        this.stripes = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.lockWait = Timer.builder(BankingOperationMetrics.LOCK_WAIT)
+                .description("Time waiting for account locks in transfers")
+                .tag("lock", "stripe")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lock every stripe guarding the given account numbers. Null account numbers are ignored.
+     *
+     * @param accountNumbers
+     * @return the acquired locks, in acquisition order, to be passed to {@link #release(List)}
+     */
+    public List<Lock> acquire(Long... accountNumbers) {
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (Long accountNumber : accountNumbers) {
+            if (accountNumber != null) {
+                stripeIndexes.add(stripeFor(accountNumber));
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Lock> acquired = new ArrayList<>(stripeIndexes.size());
+        for (Integer index : stripeIndexes) {
+            Lock lock = stripes[index];
+            lock.lock();
+            acquired.add(lock);
+        }
+        lockWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+
+    /**
+     * Release locks obtained from {@link #acquire(Long...)}, in reverse acquisition order.
+     *
+     * @param locks
+     */
+    public void release(List<Lock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    private int stripeFor(Long accountNumber) {
+        long h = accountNumber * 0x9E3779B97F4A7C15L;
+        return (int) ((h ^ (h >>> 32)) & 0x7fffffff) % stripes.length;
+    }
+}
@@ -0,0 +1,36 @@
+package com.coding.exercise.bankapp.service.lock;
+
+/**
+ * How concurrent transfers touching the same account are kept from losing updates.
+ */
+public enum AccountLockingMode {
+
+    /**
+     * In-JVM striped locks from {@link AccountLockManager}. Only safe with a single application instance.
+     */
+    LOCAL,
+
+    /**
+     * Database row locks (SELECT ... FOR UPDATE), taken in ascending account number order.
+     */
+    PESSIMISTIC,
+
+    /**
+     * No locks up front; the Account version column detects conflicts at commit and the transfer is retried.
+     */
+    OPTIMISTIC,
+
+    /**
+     * No entity loads; the debit, funds check and credit are each a single conditional UPDATE
+     * statement, issued in ascending account number order. The database row lock taken by the
+     * UPDATE is the concurrency guard.
+     */
+    ATOMIC,
+
+    /**
+     * Balances live in the in-memory {@link com.coding.exercise.bankapp.service.ledger.LedgerEngine},
+     * guarded by the {@link AccountLockManager} stripes; transfers are journaled to disk and written
+     * to the database behind the response. Only safe with a single application instance.
+     */
+    LEDGER
+}
@@ -0,0 +1,119 @@
+package com.coding.exercise.bankapp.service.metrics;
+
+import com.coding.exercise.bankapp.domain.TransferDetails;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters every {@link com.coding.exercise.bankapp.service.BankingService} operation:
+ * <ul>
+ *     <li>bankapp.operation: latency timer, tagged with the operation (method) name</li>
+ *     <li>bankapp.operation.outcome: counter tagged with the operation and its outcome, derived
+ *     from the response status (success, bad_request, insufficient_funds, forbidden, not_found,
+ *     conflict, rejected, error)</li>
+ *     <li>bankapp.operation.statements: SQL statements issued per call, as counted by
+ *     {@link StatementCounter}</li>
+ * </ul>
+ * Percentiles and histograms are configured under management.metrics.distribution.
+ */
+@Aspect
+@Component
+public class BankingOperationMetrics {
+
+    public static final String OPERATION = "bankapp.operation";
+    public static final String OPERATION_OUTCOME = "bankapp.operation.outcome";
+    public static final String OPERATION_STATEMENTS = "bankapp.operation.statements";
+    public static final String LOCK_WAIT = "bankapp.transfer.lock.wait";
+    /**
+     * Time of the transfer statements that take account row locks: the wait for the lock and the
+     * statement's own execution, which the database does not report apart.
+     */
+    public static final String LOCK_STATEMENT = "bankapp.transfer.lock.statement";
+
+    private final MeterRegistry meterRegistry;
+
+    public BankingOperationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.coding.exercise.bankapp.service.BankingService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        long statementsBefore = StatementCounter.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = outcome(result, joinPoint.getArgs());
+            return result;
+        } finally {
+            sample.stop(Timer.builder(OPERATION)
+                    .description("Banking operation latency")
+                    .tag("operation", operation)
+                    .register(meterRegistry));
+            Counter.builder(OPERATION_OUTCOME)
+                    .description("Banking operations by outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+            DistributionSummary.builder(OPERATION_STATEMENTS)
+                    .description("SQL statements issued per banking operation")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .record(StatementCounter.current() - statementsBefore);
+        }
+    }
+
+    /**
+     * Transfers answer both a non-positive amount and insufficient funds with the same 400;
+     * a 400 for a positive amount is the funds check.
+     */
+    private static String outcome(Object result, Object[] args) {
+        if (!(result instanceof ResponseEntity)) {
+            return "success";
+        }
+
+        ResponseEntity<?> response = (ResponseEntity<?>) result;
+        int status = response.getStatusCode().value();
+        if (status < 400) {
+            return "success";
+        }
+        if (status == HttpStatus.BAD_REQUEST.value()) {
+            return BankingServiceImpl.INSUFFICIENT_FUNDS.equals(response.getBody()) && hasPositiveAmount(args)
+                    ? "insufficient_funds" : "bad_request";
+        }
+        if (status == HttpStatus.FORBIDDEN.value()) {
+            return "forbidden";
+        }
+        if (status == HttpStatus.NOT_FOUND.value()) {
+            return "not_found";
+        }
+        if (status == HttpStatus.CONFLICT.value() || status == HttpStatus.UNPROCESSABLE_ENTITY.value()) {
+            return "conflict";
+        }
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return "rejected";
+        }
+        return status < 500 ? "bad_request" : "error";
+    }
+
+    private static boolean hasPositiveAmount(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof TransferDetails) {
+                Long amount = ((TransferDetails) arg).getTransferAmount();
+                return amount != null && amount > 0;
+            }
+        }
+        return false;
+    }
+}
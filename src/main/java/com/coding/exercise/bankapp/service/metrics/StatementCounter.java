@@ -0,0 +1,26 @@
+package com.coding.exercise.bankapp.service.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on each thread, so a banking operation can
+ * report how many it issued. Statements sent through JdbcTemplate bypass Hibernate and are
+ * not counted.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return statements prepared on the current thread so far
+     */
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+}
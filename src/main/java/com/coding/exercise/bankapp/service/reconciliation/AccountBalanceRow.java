@@ -0,0 +1,16 @@
+package com.coding.exercise.bankapp.service.reconciliation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Stored balance of an account, as read by the reconciliation job.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountBalanceRow {
+
+    private final Long accountNumber;
+
+    private final long accountBalance;
+}
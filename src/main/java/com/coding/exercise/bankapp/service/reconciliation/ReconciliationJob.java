@@ -0,0 +1,379 @@
+package com.coding.exercise.bankapp.service.reconciliation;
+
+import com.coding.exercise.bankapp.domain.ReconciliationReport;
+import com.coding.exercise.bankapp.domain.ReconciliationReport.BalanceMismatch;
+import com.coding.exercise.bankapp.domain.ReconciliationReport.UnmatchedTransfer;
+import com.coding.exercise.bankapp.domain.ReconciliationReport.UnpairedTransaction;
+import com.coding.exercise.bankapp.model.BalanceSnapshot;
+import com.coding.exercise.bankapp.service.ledger.LedgerEngine;
+import com.coding.exercise.bankapp.service.lock.AccountLockingMode;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.BalanceSnapshotRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * End-of-day reconciliation of the stored balances against the transactions.
+ *
+ * For every account, the stored balance must equal the opening balance of its first
+ * {@link BalanceSnapshot} plus its CREDIT less DEBIT rows since that day; accounts without
+ * snapshots cannot be checked and are reported as unverified rather than checked. Every DEBIT and CREDIT must have its other side:
+ * rows linked by a transfer id are looked up through the transfer id index, while older
+ * unlinked rows can only be paired up by amount across all accounts.
+ *
+ * The account number range is split into bankapp.reconciliation.partitions ranges, reconciled
+ * on a fork-join pool of bankapp.reconciliation.parallelism threads. Each range streams its
+ * accounts and transactions in one read-only, repeatable-read transaction, so balances are
+ * checked against a consistent view even while transfers run. Unlinked DEBIT/CREDIT pairs that
+ * cross ranges are only seen consistently when no transfers run during the job. Progress is
+ * published as the bankapp.reconciliation.* metrics.
+ */
+@Component
+public class ReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationJob.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired
+    private LedgerEngine ledgerEngine;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bankapp.transfer.locking-mode:ATOMIC}")
+    private AccountLockingMode lockingMode;
+    @Value("${bankapp.reconciliation.partitions:64}")
+    private int partitions;
+    @Value("${bankapp.reconciliation.parallelism:4}")
+    private int parallelism;
+    @Value("${bankapp.reconciliation.max-reported:1000}")
+    private int maxReported;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger partitionsTotal = new AtomicInteger();
+    private final AtomicInteger partitionsCompleted = new AtomicInteger();
+    private volatile ReconciliationReport lastReport;
+
+    private Counter accountsChecked;
+    private Counter accountsUnverified;
+    private Counter transactionsChecked;
+    private Counter balanceMismatches;
+    private Counter unmatchedTransfers;
+    private Timer duration;
+
+    @PostConstruct
+    void initMetrics() {
+        Gauge.builder("bankapp.reconciliation.progress", this, job -> job.partitionsTotal.get() == 0 ? 0
+                        : (double) job.partitionsCompleted.get() / job.partitionsTotal.get())
+                .description("Share of account ranges reconciled by the current or last run")
+                .register(meterRegistry);
+        accountsChecked = Counter.builder("bankapp.reconciliation.accounts").description("Accounts reconciled").register(meterRegistry);
+        accountsUnverified = Counter.builder("bankapp.reconciliation.accounts.unverified")
+                .description("Accounts without a balance snapshot, left unverified").register(meterRegistry);
+        transactionsChecked = Counter.builder("bankapp.reconciliation.transactions").description("Transactions reconciled").register(meterRegistry);
+        balanceMismatches = Counter.builder("bankapp.reconciliation.mismatches").tag("type", "balance")
+                .description("Reconciliation mismatches found").register(meterRegistry);
+        unmatchedTransfers = Counter.builder("bankapp.reconciliation.mismatches").tag("type", "transfer")
+                .description("Reconciliation mismatches found").register(meterRegistry);
+        duration = Timer.builder("bankapp.reconciliation.duration").description("Reconciliation run time").register(meterRegistry);
+    }
+
+    /**
+     * Nightly run, at bankapp.reconciliation.cron (UTC); "-" disables it.
+     */
+    @Scheduled(cron = "${bankapp.reconciliation.cron:-}", zone = "UTC")
+    public void runNightly() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Reconciliation still running, skipping the scheduled run");
+            return;
+        }
+        try {
+            reconcileAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Reconcile all accounts now.
+     *
+     * @return the report, or 409 if a run is already in progress
+     */
+    public ResponseEntity<Object> runNow() {
+        if (!running.compareAndSet(false, true)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Reconciliation is already running.");
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(reconcileAll());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public ResponseEntity<Object> findLastReport() {
+        ReconciliationReport report = lastReport;
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No reconciliation has run yet.");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(report);
+    }
+
+    private ReconciliationReport reconcileAll() {
+        if (lockingMode == AccountLockingMode.LEDGER) {
+            // reconcile the database with every transfer the ledger has accepted
+            ledgerEngine.flush();
+        }
+
+        Long first = accountRepository.findMinAccountNumber();
+        Long last = accountRepository.findMaxAccountNumber();
+        ReconciliationReport report = first == null ? reconcile(0L, 0L) : reconcile(first, last + 1);
+        lastReport = report;
+
+        if (report.getBalanceMismatchCount() > 0 || report.getUnmatchedTransferCount() > 0) {
+            log.warn("Reconciliation found {} balance mismatches and {} unmatched transaction rows in {} accounts",
+                    report.getBalanceMismatchCount(), report.getUnmatchedTransferCount(), report.getAccountsChecked());
+        } else {
+            log.info("Reconciled {} accounts and {} transactions", report.getAccountsChecked(), report.getTransactionsChecked());
+        }
+        if (report.getAccountsUnverified() > 0) {
+            log.warn("Reconciliation could not verify {} accounts without a balance snapshot", report.getAccountsUnverified());
+        }
+        return report;
+    }
+
+    /**
+     * Reconcile the accounts numbered in [fromAccountNumber, toAccountNumber).
+     *
+     * @param fromAccountNumber
+     * @param toAccountNumber
+     * @return
+     */
+    public ReconciliationReport reconcile(long fromAccountNumber, long toAccountNumber) {
+        Date startedAt = new Date();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        List<long[]> ranges = new ArrayList<>(partitions);
+        long width = Math.max(1, (toAccountNumber - fromAccountNumber + partitions - 1) / partitions);
+        for (long from = fromAccountNumber; from < toAccountNumber; from += width) {
+            ranges.add(new long[]{from, Math.min(from + width, toAccountNumber)});
+        }
+        partitionsTotal.set(ranges.size());
+        partitionsCompleted.set(0);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        PartitionResult result;
+        try {
+            result = pool.submit(() -> ranges.parallelStream()
+                    .map(range -> reconcilePartition(range[0], range[1]))
+                    .reduce(new PartitionResult(), PartitionResult::merge))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Reconciliation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        sample.stop(duration);
+
+        List<UnmatchedTransfer> unmatched = new ArrayList<>();
+        long unmatchedCount = result.unpairedCount;
+        for (Map.Entry<Long, Long> amount : result.debitsLessCredits.entrySet()) {
+            long excess = amount.getValue();
+            if (excess != 0) {
+                unmatchedCount += Math.abs(excess);
+                if (unmatched.size() < maxReported) {
+                    unmatched.add(UnmatchedTransfer.builder()
+                            .amount(amount.getKey())
+                            .debitsWithoutCredit(Math.max(excess, 0))
+                            .creditsWithoutDebit(Math.max(-excess, 0))
+                            .build());
+                }
+            }
+        }
+        balanceMismatches.increment(result.balanceMismatchCount);
+        unmatchedTransfers.increment(unmatchedCount);
+
+        return ReconciliationReport.builder()
+                .startedAt(startedAt)
+                .completedAt(new Date())
+                .accountsChecked(result.accounts)
+                .transactionsChecked(result.transactions)
+                .accountsUnverified(result.accountsUnverified)
+                .unverifiedAccounts(result.unverifiedAccounts)
+                .balanceMismatchCount(result.balanceMismatchCount)
+                .balanceMismatches(result.balanceMismatches)
+                .unmatchedTransferCount(unmatchedCount)
+                .unpairedTransactions(result.unpaired)
+                .unmatchedTransfers(unmatched)
+                .build();
+    }
+
+    private PartitionResult reconcilePartition(long fromAccountNumber, long toAccountNumber) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        PartitionResult result = transactionTemplate.execute(status -> {
+            PartitionResult partition = new PartitionResult();
+
+            // opening balance, and the start of its day from which transactions count towards it
+            Map<Long, BalanceSnapshot> openings = new HashMap<>();
+            for (BalanceSnapshot snapshot : balanceSnapshotRepository.findOpeningByAccountNumberRange(fromAccountNumber, toAccountNumber)) {
+                openings.put(snapshot.getAccountNumber(), snapshot);
+            }
+            Map<Long, Long> openingTimes = new HashMap<>();
+            openings.forEach((accountNumber, snapshot) ->
+                    openingTimes.put(accountNumber, snapshot.getSnapshotDate().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli()));
+
+            Map<Long, Long> sinceOpening = new HashMap<>();
+            try (Stream<TransactionRow> transactions = transactionRepository.streamByAccountNumberRange(fromAccountNumber, toAccountNumber)) {
+                transactions.forEach(transaction -> {
+                    partition.transactions++;
+                    boolean debit = "DEBIT".equals(transaction.getTxType());
+                    if (transaction.getTransferId() == null) {
+                        partition.debitsLessCredits.merge(transaction.getTxAmount(), debit ? 1L : -1L, Long::sum);
+                    }
+
+                    Long openingTime = openingTimes.get(transaction.getAccountNumber());
+                    if (openingTime != null && transaction.getTxDateTime().getTime() >= openingTime) {
+                        sinceOpening.merge(transaction.getAccountNumber(), debit ? -transaction.getTxAmount() : transaction.getTxAmount(), Long::sum);
+                    }
+                });
+            }
+
+            try (Stream<TransactionRow> unpaired = transactionRepository.streamUnpairedByAccountNumberRange(fromAccountNumber, toAccountNumber)) {
+                unpaired.forEach(transaction -> partition.addUnpaired(UnpairedTransaction.builder()
+                        .transferId(transaction.getTransferId())
+                        .accountNumber(transaction.getAccountNumber())
+                        .txType(transaction.getTxType())
+                        .amount(transaction.getTxAmount())
+                        .build(), maxReported));
+            }
+
+            try (Stream<AccountBalanceRow> accounts = accountRepository.streamBalancesByAccountNumberRange(fromAccountNumber, toAccountNumber)) {
+                accounts.forEach(account -> {
+                    BalanceSnapshot opening = openings.get(account.getAccountNumber());
+                    if (opening == null) {
+                        partition.addUnverified(account.getAccountNumber(), maxReported);
+                        return;
+                    }
+                    partition.accounts++;
+                    long expectedBalance = opening.getOpeningBalance() + sinceOpening.getOrDefault(account.getAccountNumber(), 0L);
+                    if (expectedBalance != account.getAccountBalance()) {
+                        partition.addBalanceMismatch(BalanceMismatch.builder()
+                                .accountNumber(account.getAccountNumber())
+                                .storedBalance(account.getAccountBalance())
+                                .expectedBalance(expectedBalance)
+                                .build(), maxReported);
+                    }
+                });
+            }
+            return partition;
+        });
+
+        accountsChecked.increment(result.accounts);
+        accountsUnverified.increment(result.accountsUnverified);
+        transactionsChecked.increment(result.transactions);
+        partitionsCompleted.incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Counts of one or more reconciled account ranges.
+     */
+    private class PartitionResult {
+
+        private long accounts;
+        private long transactions;
+        private long accountsUnverified;
+        private final List<Long> unverifiedAccounts = new ArrayList<>();
+        private long balanceMismatchCount;
+        private final List<BalanceMismatch> balanceMismatches = new ArrayList<>();
+        private long unpairedCount;
+        private final List<UnpairedTransaction> unpaired = new ArrayList<>();
+        /**
+         * Per amount: unlinked DEBIT rows less unlinked CREDIT rows of that amount.
+         */
+        private final Map<Long, Long> debitsLessCredits = new HashMap<>();
+
+        private void addUnverified(Long accountNumber, int maxReported) {
+            accountsUnverified++;
+            if (unverifiedAccounts.size() < maxReported) {
+                unverifiedAccounts.add(accountNumber);
+            }
+        }
+
+        private void addBalanceMismatch(BalanceMismatch mismatch, int maxReported) {
+            balanceMismatchCount++;
+            if (balanceMismatches.size() < maxReported) {
+                balanceMismatches.add(mismatch);
+            }
+        }
+
+        private void addUnpaired(UnpairedTransaction transaction, int maxReported) {
+            unpairedCount++;
+            if (unpaired.size() < maxReported) {
+                unpaired.add(transaction);
+            }
+        }
+
+        private PartitionResult merge(PartitionResult other) {
+            PartitionResult merged = new PartitionResult();
+            for (PartitionResult part : Arrays.asList(this, other)) {
+                merged.accounts += part.accounts;
+                merged.transactions += part.transactions;
+                merged.accountsUnverified += part.accountsUnverified;
+                for (Long accountNumber : part.unverifiedAccounts) {
+                    if (merged.unverifiedAccounts.size() < maxReported) {
+                        merged.unverifiedAccounts.add(accountNumber);
+                    }
+                }
+                merged.balanceMismatchCount += part.balanceMismatchCount;
+                for (BalanceMismatch mismatch : part.balanceMismatches) {
+                    if (merged.balanceMismatches.size() < maxReported) {
+                        merged.balanceMismatches.add(mismatch);
+                    }
+                }
+                merged.unpairedCount += part.unpairedCount;
+                for (UnpairedTransaction transaction : part.unpaired) {
+                    if (merged.unpaired.size() < maxReported) {
+                        merged.unpaired.add(transaction);
+                    }
+                }
+                part.debitsLessCredits.forEach((amount, excess) -> merged.debitsLessCredits.merge(amount, excess, Long::sum));
+            }
+            return merged;
+        }
+    }
+}
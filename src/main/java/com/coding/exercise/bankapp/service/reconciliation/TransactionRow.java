@@ -0,0 +1,25 @@
+package com.coding.exercise.bankapp.service.reconciliation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * The columns of a Transaction the reconciliation job needs, read without managing the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class TransactionRow {
+
+    private final Long accountNumber;
+
+    private final String txType;
+
+    private final long txAmount;
+
+    private final Date txDateTime;
+
+    private final UUID transferId;
+}
@@ -1,15 +1,100 @@
 package com.coding.exercise.bankapp.service.repository;
 
 import com.coding.exercise.bankapp.model.Account;
+import com.coding.exercise.bankapp.service.reconciliation.AccountBalanceRow;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface AccountRepository extends CrudRepository<Account, String> {
+public interface AccountRepository extends CrudRepository<Account, UUID> {
 
+	/**
+	 * Bank information is shared branch reference data and resolves from the
+	 * second-level cache, so it is left lazy here rather than joined in.
+	 */
 	Optional<Account> findByAccountNumber(Long accountNumber);
 
+	/**
+	 * All accounts of a customer in one query, through the CustomerAccountXRef indexes.
+	 * Bank information is left lazy, as in {@link #findByAccountNumber(Long)}.
+	 */
+	@Query("select a from Account a where a.accountNumber in "
+			+ "(select x.accountNumber from CustomerAccountXRef x where x.customerNumber = :customerNumber) order by a.accountNumber")
+	List<Account> findByCustomerNumber(@Param("customerNumber") Long customerNumber);
+
+	List<Account> findByAccountNumberInOrderByAccountNumber(Collection<Long> accountNumbers);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select a from Account a where a.accountNumber in :accountNumbers order by a.accountNumber")
+	List<Account> findByAccountNumberInForUpdate(@Param("accountNumbers") Collection<Long> accountNumbers);
+
+	/**
+	 * Debit the account in one statement, only if it holds at least the given amount.
+	 *
+	 * @return number of rows updated; 0 if the account does not exist or has insufficient funds
+	 */
+	@Modifying
+	@Query("update Account a set a.accountBalance = a.accountBalance - :amount, a.updateDateTime = :updateDateTime, a.version = a.version + 1 "
+			+ "where a.accountNumber = :accountNumber and a.accountBalance >= :amount")
+	int debit(@Param("accountNumber") Long accountNumber, @Param("amount") long amount, @Param("updateDateTime") Date updateDateTime);
+
+	/**
+	 * Credit the account in one statement.
+	 *
+	 * @return number of rows updated; 0 if the account does not exist
+	 */
+	@Modifying
+	@Query("update Account a set a.accountBalance = a.accountBalance + :amount, a.updateDateTime = :updateDateTime, a.version = a.version + 1 "
+			+ "where a.accountNumber = :accountNumber")
+	int credit(@Param("accountNumber") Long accountNumber, @Param("amount") long amount, @Param("updateDateTime") Date updateDateTime);
+
+	boolean existsByAccountNumber(Long accountNumber);
+
+	@Query("select a.accountBalance from Account a where a.accountNumber = :accountNumber")
+	Optional<Long> findBalanceByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+	@Query("select a.createDateTime from Account a where a.accountNumber = :accountNumber")
+	Optional<Date> findCreateDateTimeByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+	@Query("select min(a.accountNumber) from Account a")
+	Long findMinAccountNumber();
+
+	@Query("select max(a.accountNumber) from Account a")
+	Long findMaxAccountNumber();
+
+	/**
+	 * Stored balances of the accounts numbered in [fromAccountNumber, toAccountNumber), read from
+	 * the JDBC cursor in fetch-size chunks. Must be consumed and closed inside a transaction.
+	 */
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+	@Query("select new com.coding.exercise.bankapp.service.reconciliation.AccountBalanceRow(a.accountNumber, a.accountBalance) "
+			+ "from Account a where a.accountNumber >= :fromAccountNumber and a.accountNumber < :toAccountNumber")
+	Stream<AccountBalanceRow> streamBalancesByAccountNumberRange(@Param("fromAccountNumber") Long fromAccountNumber,
+																 @Param("toAccountNumber") Long toAccountNumber);
+
+	/**
+	 * Delete all accounts of a customer in one statement.
+	 *
+	 * @return number of rows deleted
+	 */
+	@Modifying
+	@Query("delete from Account a where a.accountNumber in "
+			+ "(select x.accountNumber from CustomerAccountXRef x where x.customerNumber = :customerNumber)")
+	int deleteByCustomerNumber(@Param("customerNumber") Long customerNumber);
+
 	public void deleteAll();
 }
@@ -0,0 +1,54 @@
+package com.coding.exercise.bankapp.service.repository;
+
+import com.coding.exercise.bankapp.model.BalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, UUID> {
+
+	/**
+	 * Latest snapshot of an account on or before the given day.
+	 */
+	Optional<BalanceSnapshot> findFirstByAccountNumberAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(Long accountNumber, LocalDate snapshotDate);
+
+	/**
+	 * Earliest snapshot of an account after the given day.
+	 */
+	Optional<BalanceSnapshot> findFirstByAccountNumberAndSnapshotDateGreaterThanOrderBySnapshotDate(Long accountNumber, LocalDate snapshotDate);
+
+	/**
+	 * First snapshot of each account numbered in [fromAccountNumber, toAccountNumber), holding
+	 * the balance the account was opened with (or had when snapshots began).
+	 */
+	@Query("select s from BalanceSnapshot s where s.accountNumber >= :fromAccountNumber and s.accountNumber < :toAccountNumber "
+			+ "and s.snapshotDate = (select min(f.snapshotDate) from BalanceSnapshot f where f.accountNumber = s.accountNumber)")
+	List<BalanceSnapshot> findOpeningByAccountNumberRange(@Param("fromAccountNumber") Long fromAccountNumber,
+														  @Param("toAccountNumber") Long toAccountNumber);
+
+	/**
+	 * Add a balance change to an existing snapshot's closing balance.
+	 *
+	 * @return 1 if the snapshot exists, otherwise 0
+	 */
+	@Modifying
+	@Query("update BalanceSnapshot s set s.closingBalance = s.closingBalance + :amount "
+			+ "where s.accountNumber = :accountNumber and s.snapshotDate = :snapshotDate")
+	int addToClosingBalance(@Param("accountNumber") Long accountNumber, @Param("snapshotDate") LocalDate snapshotDate, @Param("amount") long amount);
+
+	/**
+	 * Delete all snapshots of a customer's accounts in one statement.
+	 */
+	@Modifying
+	@Query("delete from BalanceSnapshot s where s.accountNumber in "
+			+ "(select x.accountNumber from CustomerAccountXRef x where x.customerNumber = :customerNumber)")
+	int deleteByCustomerNumber(@Param("customerNumber") Long customerNumber);
+}
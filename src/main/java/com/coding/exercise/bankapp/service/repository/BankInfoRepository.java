@@ -0,0 +1,17 @@
+package com.coding.exercise.bankapp.service.repository;
+
+import com.coding.exercise.bankapp.model.BankInfo;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BankInfoRepository extends CrudRepository<BankInfo, UUID> {
+
+    public Optional<BankInfo> findByBranchCodeAndRoutingNumber(Integer branchCode, Integer routingNumber);
+
+    public void deleteAll();
+
+}
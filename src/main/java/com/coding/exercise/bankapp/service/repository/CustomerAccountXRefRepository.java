@@ -1,10 +1,34 @@
 package com.coding.exercise.bankapp.service.repository;
 
 import com.coding.exercise.bankapp.model.CustomerAccountXRef;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 @Repository
-public interface CustomerAccountXRefRepository extends CrudRepository<CustomerAccountXRef, String> {
+public interface CustomerAccountXRefRepository extends CrudRepository<CustomerAccountXRef, UUID> {
+
+    /**
+     * Account numbers of a customer, read from the (customerNumber, accountNumber) unique index.
+     */
+    @Query("select x.accountNumber from CustomerAccountXRef x where x.customerNumber = :customerNumber order by x.accountNumber")
+    public List<Long> findAccountNumbersByCustomerNumber(@Param("customerNumber") Long customerNumber);
+
+    /**
+     * Owner of an account, read from the accountNumber index.
+     */
+    @Query("select x.customerNumber from CustomerAccountXRef x where x.accountNumber = :accountNumber")
+    public Optional<Long> findCustomerNumberByAccountNumber(@Param("accountNumber") Long accountNumber);
+
+    @Modifying
+    @Query("delete from CustomerAccountXRef x where x.customerNumber = :customerNumber")
+    public int deleteByCustomerNumber(@Param("customerNumber") Long customerNumber);
+
     public void deleteAll();
 }
@@ -1,16 +1,58 @@
 package com.coding.exercise.bankapp.service.repository;
 
 import com.coding.exercise.bankapp.model.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends CrudRepository<Customer, String> {
+public interface CustomerRepository extends CrudRepository<Customer, UUID>, PagingAndSortingRepository<Customer, UUID> {
 
+    /**
+     * Address and contact are joined in, instead of one extra select each per customer.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"customerAddress", "contactDetails"})
+    public Iterable<Customer> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"customerAddress", "contactDetails"})
+    public Page<Customer> findAll(Pageable pageable);
+
+    /**
+     * All customers ordered by customer number, read from the JDBC cursor in fetch-size
+     * chunks. Must be consumed and closed inside a transaction.
+     */
+    @EntityGraph(attributePaths = {"customerAddress", "contactDetails"})
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from Customer c order by c.customerNumber")
+    public Stream<Customer> streamAll();
+
+    @EntityGraph(attributePaths = {"customerAddress", "contactDetails"})
     public Optional<Customer> findByCustomerNumber(Long customerNumber);
 
+    /**
+     * Lock the customer row, so accounts are not added to a customer while it is deleted.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Customer c where c.customerNumber = :customerNumber")
+    public Optional<Customer> findByCustomerNumberForUpdate(@Param("customerNumber") Long customerNumber);
+
+    public boolean existsByCustomerNumber(Long customerNumber);
+
     public void deleteAll();
     
 }
@@ -0,0 +1,9 @@
+package com.coding.exercise.bankapp.service.repository;
+
+import com.coding.exercise.bankapp.model.LedgerCheckpoint;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LedgerCheckpointRepository extends CrudRepository<LedgerCheckpoint, String> {
+}
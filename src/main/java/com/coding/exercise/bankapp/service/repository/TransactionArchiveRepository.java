@@ -0,0 +1,28 @@
+package com.coding.exercise.bankapp.service.repository;
+
+import com.coding.exercise.bankapp.model.TransactionArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Repository
+public interface TransactionArchiveRepository extends JpaRepository<TransactionArchive, UUID> {
+
+	/**
+	 * Copy all transactions of a customer's accounts into the archive in one insert-select.
+	 *
+	 * @return number of rows archived
+	 */
+	@Modifying
+	@Query("insert into TransactionArchive (id, accountNumber, txDateTime, txType, txAmount, transferId, counterpartAccountNumber, customerNumber, archivedDateTime) "
+			+ "select t.id, t.accountNumber, t.txDateTime, t.txType, t.txAmount, t.transferId, t.counterpartAccountNumber, x.customerNumber, :archivedDateTime "
+			+ "from Transaction t join CustomerAccountXRef x on x.accountNumber = t.accountNumber where x.customerNumber = :customerNumber")
+	int archiveByCustomerNumber(@Param("customerNumber") Long customerNumber, @Param("archivedDateTime") Date archivedDateTime);
+
+	long countByCustomerNumber(Long customerNumber);
+}
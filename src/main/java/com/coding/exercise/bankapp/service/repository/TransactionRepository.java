@@ -1,17 +1,123 @@
 package com.coding.exercise.bankapp.service.repository;
 
 import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.service.reconciliation.TransactionRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Temporal;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.TemporalType;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TransactionRepository extends CrudRepository<Transaction, String> {
+public interface TransactionRepository extends CrudRepository<Transaction, UUID> {
+
+    /**
+     * Upper bound of open-ended txDateTime ranges, 9999-12-31T23:59:59.999Z.
+     */
+    Date END_OF_TIME = new Date(253402300799999L);
 
     public Optional<List<Transaction>> findByAccountNumber(Long accountNumber);
 
+    /**
+     * The DEBIT and CREDIT rows of one transfer.
+     */
+    public List<Transaction> findByTransferId(UUID transferId);
+
+    /**
+     * First page of an account's transactions in [fromDate, toDate), newest first.
+     * Served from the (accountNumber, txDateTime) index; the page size comes from pageable.
+     */
+    @Query("select t from Transaction t where t.accountNumber = :accountNumber "
+            + "and t.txDateTime >= :fromDate and t.txDateTime < :toDate "
+            + "order by t.txDateTime desc, t.id desc")
+    public List<Transaction> findPageByAccountNumber(@Param("accountNumber") Long accountNumber,
+                                                     @Param("fromDate") @Temporal(TemporalType.TIMESTAMP) Date fromDate,
+                                                     @Param("toDate") @Temporal(TemporalType.TIMESTAMP) Date toDate,
+                                                     Pageable pageable);
+
+    /**
+     * Next page of an account's transactions in [fromDate, toDate), continuing after the
+     * (cursorDateTime, cursorId) keyset of the last row returned, newest first.
+     */
+    @Query("select t from Transaction t where t.accountNumber = :accountNumber "
+            + "and t.txDateTime >= :fromDate and t.txDateTime < :toDate "
+            + "and (t.txDateTime < :cursorDateTime or (t.txDateTime = :cursorDateTime and t.id < :cursorId)) "
+            + "order by t.txDateTime desc, t.id desc")
+    public List<Transaction> findPageByAccountNumberAfter(@Param("accountNumber") Long accountNumber,
+                                                          @Param("fromDate") @Temporal(TemporalType.TIMESTAMP) Date fromDate,
+                                                          @Param("toDate") @Temporal(TemporalType.TIMESTAMP) Date toDate,
+                                                          @Param("cursorDateTime") @Temporal(TemporalType.TIMESTAMP) Date cursorDateTime,
+                                                          @Param("cursorId") UUID cursorId,
+                                                          Pageable pageable);
+
+    /**
+     * All of an account's transactions in [fromDate, toDate), oldest first, read from the
+     * JDBC cursor in fetch-size chunks. Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select t from Transaction t where t.accountNumber = :accountNumber "
+            + "and t.txDateTime >= :fromDate and t.txDateTime < :toDate "
+            + "order by t.txDateTime, t.id")
+    public Stream<Transaction> streamByAccountNumber(@Param("accountNumber") Long accountNumber,
+                                                     @Param("fromDate") @Temporal(TemporalType.TIMESTAMP) Date fromDate,
+                                                     @Param("toDate") @Temporal(TemporalType.TIMESTAMP) Date toDate);
+
+    /**
+     * Transactions of the accounts numbered in [fromAccountNumber, toAccountNumber), in no
+     * particular order, read from the JDBC cursor in fetch-size chunks without loading entities.
+     * Must be consumed and closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.coding.exercise.bankapp.service.reconciliation.TransactionRow(t.accountNumber, t.txType, t.txAmount, t.txDateTime, t.transferId) "
+            + "from Transaction t where t.accountNumber >= :fromAccountNumber and t.accountNumber < :toAccountNumber")
+    public Stream<TransactionRow> streamByAccountNumberRange(@Param("fromAccountNumber") Long fromAccountNumber,
+                                                            @Param("toAccountNumber") Long toAccountNumber);
+
+    /**
+     * Transactions of the accounts numbered in [fromAccountNumber, toAccountNumber) that carry a
+     * transfer id but have no counterpart row of the opposite type and the same amount on the
+     * counterpart account, found through the transfer id index. Rows whose counterpart account
+     * has been deleted with its customer are not reported: their counterpart went with it.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.coding.exercise.bankapp.service.reconciliation.TransactionRow(t.accountNumber, t.txType, t.txAmount, t.txDateTime, t.transferId) "
+            + "from Transaction t where t.accountNumber >= :fromAccountNumber and t.accountNumber < :toAccountNumber and t.transferId is not null "
+            + "and not exists (select c.id from Transaction c where c.transferId = t.transferId and c.accountNumber = t.counterpartAccountNumber "
+            + "and c.txType <> t.txType and c.txAmount = t.txAmount) "
+            + "and exists (select a.id from Account a where a.accountNumber = t.counterpartAccountNumber)")
+    public Stream<TransactionRow> streamUnpairedByAccountNumberRange(@Param("fromAccountNumber") Long fromAccountNumber,
+                                                                    @Param("toAccountNumber") Long toAccountNumber);
+
+    /**
+     * Delete all transactions of a customer's accounts in one statement.
+     *
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from Transaction t where t.accountNumber in "
+            + "(select x.accountNumber from CustomerAccountXRef x where x.customerNumber = :customerNumber)")
+    public int deleteByCustomerNumber(@Param("customerNumber") Long customerNumber);
+
+    /**
+     * Net balance change of an account's transactions in [fromDate, toDate): CREDITs less DEBITs.
+     */
+    @Query("select coalesce(sum(case when t.txType = 'DEBIT' then -t.txAmount else t.txAmount end), 0) from Transaction t "
+            + "where t.accountNumber = :accountNumber and t.txDateTime >= :fromDate and t.txDateTime < :toDate")
+    public long sumAmountByAccountNumber(@Param("accountNumber") Long accountNumber,
+                                         @Param("fromDate") @Temporal(TemporalType.TIMESTAMP) Date fromDate,
+                                         @Param("toDate") @Temporal(TemporalType.TIMESTAMP) Date toDate);
+
     public void deleteAll();
     
 }
@@ -0,0 +1,159 @@
+package com.coding.exercise.bankapp.service.snapshot;
+
+import com.coding.exercise.bankapp.model.BalanceSnapshot;
+import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.BalanceSnapshotRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Daily balance snapshots per account, for balance-as-of queries that do not replay the
+ * account's whole transaction history.
+ *
+ * Every day (UTC) on which an account is opened or has transactions gets a
+ * {@link BalanceSnapshot} with the balance before and after that day's transactions, kept up to
+ * date in the transaction writing them. The balance at an instant is then the closing balance of
+ * the latest earlier day with a snapshot, or the opening balance of its own day plus that day's
+ * transactions up to the instant. Writers of an account serialize on its account row or lock
+ * stripe, which also orders their snapshot updates; with OPTIMISTIC locking two first transfers
+ * of the day may both insert the day's snapshot, and the loser is retried like any other
+ * concurrent update.
+ */
+@Component
+public class BalanceSnapshotStore {
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private AccountRepository accountRepository;
+
+    /**
+     * Record the opening balance of a new account, in the current transaction.
+     *
+     * @param accountNumber
+     * @param balance
+     */
+    public void opened(Long accountNumber, long balance) {
+        balanceSnapshotRepository.save(BalanceSnapshot.builder()
+                .accountNumber(accountNumber)
+                .snapshotDate(LocalDate.now(ZoneOffset.UTC))
+                .openingBalance(balance)
+                .closingBalance(balance)
+                .build());
+    }
+
+    /**
+     * Apply DEBIT and CREDIT rows to the snapshots of their accounts and days, in the current
+     * transaction. Must be called once the rows' balance changes have been made to the accounts.
+     *
+     * @param transactions
+     */
+    public void record(Collection<Transaction> transactions) {
+
+        // Net change per account and day, visited in ascending order so that writers touching
+        // the same snapshots update them in the same order
+        Map<Long, TreeMap<LocalDate, Long>> deltas = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            long amount = "DEBIT".equals(transaction.getTxType()) ? -transaction.getTxAmount() : transaction.getTxAmount();
+            deltas.computeIfAbsent(transaction.getAccountNumber(), accountNumber -> new TreeMap<>())
+                    .merge(dayOf(transaction.getTxDateTime()), amount, Long::sum);
+        }
+
+        List<BalanceSnapshot> created = new ArrayList<>();
+        deltas.forEach((accountNumber, days) -> {
+            // change made by these transactions on the current day and later ones
+            long remaining = days.values().stream().mapToLong(Long::longValue).sum();
+            BalanceSnapshot previous = null;
+            for (Map.Entry<LocalDate, Long> day : days.entrySet()) {
+                if (balanceSnapshotRepository.addToClosingBalance(accountNumber, day.getKey(), day.getValue()) == 0) {
+                    long openingBalance;
+                    if (previous != null) {
+                        // the previous day's snapshot was created above and is not in the table yet
+                        openingBalance = previous.getClosingBalance();
+                    } else {
+                        long remainingFromDay = remaining;
+                        openingBalance = balanceSnapshotRepository
+                                .findFirstByAccountNumberAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(accountNumber, day.getKey())
+                                .map(BalanceSnapshot::getClosingBalance)
+                                .orElseGet(() -> accountRepository.findBalanceByAccountNumber(accountNumber).orElse(0L) - remainingFromDay);
+                    }
+                    previous = BalanceSnapshot.builder()
+                            .accountNumber(accountNumber)
+                            .snapshotDate(day.getKey())
+                            .openingBalance(openingBalance)
+                            .closingBalance(openingBalance + day.getValue())
+                            .build();
+                    created.add(previous);
+                } else {
+                    previous = null;
+                }
+                remaining -= day.getValue();
+            }
+        });
+
+        if (!created.isEmpty()) {
+            try {
+                // Flushed here so that a concurrent insert of the same snapshot surfaces as a retryable conflict
+                balanceSnapshotRepository.saveAllAndFlush(created);
+            } catch (DataIntegrityViolationException e) {
+                throw new ConcurrencyFailureException("Balance snapshot inserted concurrently", e);
+            }
+        }
+    }
+
+    /**
+     * Balance of an account as of an instant: after all its transactions before asOf.
+     * Sums at most one day of transactions when the account has snapshots around asOf,
+     * otherwise the transactions between asOf and the nearest snapshot or the present.
+     *
+     * @param accountNumber
+     * @param asOf
+     * @return balance in minor units, or null if the account does not exist or was opened after asOf
+     */
+    public Long balanceAsOf(Long accountNumber, Date asOf) {
+        Date opened = accountRepository.findCreateDateTimeByAccountNumber(accountNumber).orElse(null);
+        if (opened != null && asOf.before(opened)) {
+            return null;
+        }
+
+        LocalDate day = dayOf(asOf);
+
+        Optional<BalanceSnapshot> snapshot = balanceSnapshotRepository
+                .findFirstByAccountNumberAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(accountNumber, day);
+        if (snapshot.isPresent()) {
+            if (snapshot.get().getSnapshotDate().isBefore(day)) {
+                return snapshot.get().getClosingBalance();
+            }
+            return snapshot.get().getOpeningBalance() + transactionRepository.sumAmountByAccountNumber(accountNumber, startOf(day), asOf);
+        }
+
+        // Before the first snapshot: walk back from the next one, or from the current balance
+        // of an account with no snapshots yet
+        Optional<BalanceSnapshot> next = balanceSnapshotRepository
+                .findFirstByAccountNumberAndSnapshotDateGreaterThanOrderBySnapshotDate(accountNumber, day);
+        if (next.isPresent()) {
+            return next.get().getOpeningBalance() - transactionRepository.sumAmountByAccountNumber(accountNumber, asOf, startOf(next.get().getSnapshotDate()));
+        }
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
+                .map(balance -> balance - transactionRepository.sumAmountByAccountNumber(accountNumber, asOf, TransactionRepository.END_OF_TIME))
+                .orElse(null);
+    }
+
+    private static LocalDate dayOf(Date date) {
+        return date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static Date startOf(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
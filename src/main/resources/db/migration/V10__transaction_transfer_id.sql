@@ -0,0 +1,4 @@
+-- Link the DEBIT and CREDIT rows of a transfer. Rows written before stay unlinked (null).
+alter table transaction add column transfer_id binary(16);
+alter table transaction add column counterpart_account_number bigint;
+create index idx_transaction_transfer on transaction (transfer_id);
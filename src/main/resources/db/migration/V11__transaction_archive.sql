@@ -0,0 +1,3 @@
+-- Transactions of offboarded customers, copied here before their accounts and transactions are deleted.
+create table transaction_archive (tx_id binary(16) not null, account_number bigint, tx_date_time timestamp, tx_type varchar(255), tx_amount bigint not null, transfer_id binary(16), counterpart_account_number bigint, customer_number bigint, archived_date_time timestamp, primary key (tx_id));
+create index idx_transaction_archive_account_date on transaction_archive (account_number, tx_date_time);
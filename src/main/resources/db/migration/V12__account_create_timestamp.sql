@@ -0,0 +1,3 @@
+-- Keep the date part of Account.createDateTime, needed to reject balance-as-of queries before an account was opened.
+-- The column was never written before, so existing accounts stay null and are treated as always open.
+alter table account alter column create_date_time timestamp;
@@ -0,0 +1,7 @@
+-- Index the account, customer and transaction lookup paths.
+-- The unique constraints fail if duplicate account or customer numbers already exist; clean those up first.
+alter table account add constraint uk_account_account_number unique (account_number);
+alter table customer add constraint uk_customer_customer_number unique (customer_number);
+create index idx_transaction_account_date on transaction (account_number, tx_date_time);
+alter table customer_accountxref add constraint uk_xref_customer_account unique (customer_number, account_number);
+create index idx_xref_account on customer_accountxref (account_number);
@@ -0,0 +1,3 @@
+-- Keep the date part of Transaction.txDateTime, needed to page and filter history by time.
+-- Existing rows only stored the time of day and keep it on 1970-01-01.
+alter table transaction alter column tx_date_time timestamp;
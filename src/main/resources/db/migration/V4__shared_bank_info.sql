@@ -0,0 +1,17 @@
+-- Branch information becomes reference data shared by all accounts of a branch.
+-- Point every account at one bank_info row per (branch_code, routing_number),
+-- then drop the duplicate rows and the branch addresses only they referenced.
+update account a set bank_information_bank_id = coalesce(
+    (select min(b2.bank_id) from bank_info b1
+        join bank_info b2 on b2.branch_code = b1.branch_code and b2.routing_number = b1.routing_number
+        where b1.bank_id = a.bank_information_bank_id),
+    a.bank_information_bank_id)
+where a.bank_information_bank_id is not null;
+
+delete from bank_info b where not exists (select 1 from account a where a.bank_information_bank_id = b.bank_id);
+
+delete from address ad
+where not exists (select 1 from bank_info b where b.branch_address_addr_id = ad.addr_id)
+  and not exists (select 1 from customer c where c.customer_address_addr_id = ad.addr_id);
+
+alter table bank_info add constraint uk_bank_info_branch unique (branch_code, routing_number);
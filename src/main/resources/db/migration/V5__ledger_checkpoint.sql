@@ -0,0 +1,2 @@
+-- Write-behind progress of the in-memory transfer ledger (bankapp.transfer.locking-mode LEDGER).
+create table ledger_checkpoint (ledger_name varchar(255) not null, last_sequence bigint, primary key (ledger_name));
@@ -0,0 +1,6 @@
+-- Balances and transaction amounts are stored as whole minor units (cents) instead of double.
+update account set account_balance = coalesce(round(account_balance * 100, 0), 0);
+alter table account alter column account_balance bigint not null;
+
+update transaction set tx_amount = coalesce(round(tx_amount * 100, 0), 0);
+alter table transaction alter column tx_amount bigint not null;
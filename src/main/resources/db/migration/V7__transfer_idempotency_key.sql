@@ -0,0 +1,2 @@
+-- Responses of transfers submitted with an Idempotency-Key header, replayed for retries.
+create table transfer_idempotency_key (idempotency_key varchar(255) not null, customer_number bigint, from_account_number bigint, to_account_number bigint, transfer_amount bigint, response_status integer not null, response_body varchar(1024), created timestamp, primary key (idempotency_key));
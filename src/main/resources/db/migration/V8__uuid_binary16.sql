@@ -0,0 +1,12 @@
+-- UUID keys are 16 bytes. V1 declared them as plain binary, which H2 2.x reads as binary(1).
+alter table address alter column addr_id set data type binary(16);
+alter table bank_info alter column bank_id set data type binary(16);
+alter table bank_info alter column branch_address_addr_id set data type binary(16);
+alter table contact alter column contact_id set data type binary(16);
+alter table account alter column acct_id set data type binary(16);
+alter table account alter column bank_information_bank_id set data type binary(16);
+alter table customer alter column cust_id set data type binary(16);
+alter table customer alter column contact_details_contact_id set data type binary(16);
+alter table customer alter column customer_address_addr_id set data type binary(16);
+alter table customer_accountxref alter column cust_acc_xref_id set data type binary(16);
+alter table transaction alter column tx_id set data type binary(16);
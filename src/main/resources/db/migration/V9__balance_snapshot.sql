@@ -0,0 +1,5 @@
+-- Daily balance snapshots per account, maintained with every DEBIT/CREDIT written from here on.
+-- Accounts get their first snapshot with their next transaction; balances as of earlier
+-- instants are computed back from it.
+create table balance_snapshot (snapshot_id binary(16) not null, account_number bigint, snapshot_date date, opening_balance bigint not null, closing_balance bigint not null, primary key (snapshot_id));
+alter table balance_snapshot add constraint uk_balance_snapshot_account_date unique (account_number, snapshot_date);
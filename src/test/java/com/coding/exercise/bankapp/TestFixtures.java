@@ -0,0 +1,61 @@
+package com.coding.exercise.bankapp;
+
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingService;
+
+import java.util.Date;
+
+/**
+ * Customers and accounts the tests add through the banking service.
+ */
+public final class TestFixtures {
+
+    public static final String BRANCH_NAME = "Test Branch";
+
+    private TestFixtures() {
+    }
+
+    public static CustomerDetails customer(Long customerNumber) {
+        return CustomerDetails.builder()
+                .firstName("Test")
+                .lastName("Customer" + customerNumber)
+                .customerNumber(customerNumber)
+                .status("Active")
+                .customerAddress(address(customerNumber + " Test St"))
+                .contactDetails(ContactDetails.builder().emailId("customer" + customerNumber + "@example.com").build())
+                .build();
+    }
+
+    public static AccountInformation account(Long accountNumber, String accountType, long accountBalance) {
+        return AccountInformation.builder()
+                .accountType(accountType)
+                .bankInformation(BankInformation.builder()
+                        .branchName(BRANCH_NAME)
+                        .branchCode(9000)
+                        .routingNumber(900000001)
+                        .branchAddress(address("1 Branch St"))
+                        .build())
+                .accountBalance(accountBalance)
+                .accountNumber(accountNumber)
+                .accountCreated(new Date())
+                .build();
+    }
+
+    /**
+     * Add the customer and a Checking account holding accountBalance for each account number.
+     */
+    public static void addCustomerWithAccounts(BankingService bankingService, Long customerNumber, long accountBalance, Long... accountNumbers) {
+        bankingService.addCustomer(customer(customerNumber));
+        addAccounts(bankingService, customerNumber, "Checking", accountBalance, accountNumbers);
+    }
+
+    public static void addAccounts(BankingService bankingService, Long customerNumber, String accountType, long accountBalance, Long... accountNumbers) {
+        for (Long accountNumber : accountNumbers) {
+            bankingService.addNewAccount(account(accountNumber, accountType, accountBalance), customerNumber);
+        }
+    }
+
+    private static AddressDetails address(String address1) {
+        return AddressDetails.builder().address1(address1).city("Cityville").state("CA").zip("12345").country("USA").build();
+    }
+}
@@ -1,24 +1,26 @@
 package com.coding.exercise.bankapp.controller;
 
+import com.coding.exercise.bankapp.TestFixtures;
 import com.coding.exercise.bankapp.domain.*;
 import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.repository.BankInfoRepository;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
-import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
-@RunWith(SpringRunner.class)
 @SpringBootTest
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class AccountControllerTest {
@@ -26,6 +28,8 @@ class AccountControllerTest {
     private AccountController accountController;
     @Autowired
     private BankingServiceImpl bankingService;
+    @Autowired
+    private BankInfoRepository bankInfoRepository;
 
     @BeforeAll
     void setUp() {
@@ -39,7 +43,7 @@ class AccountControllerTest {
         AccountInformation sourceAccount = AccountInformation.builder()
                 .accountType("Savings")
                 .bankInformation(bankInformation)
-                .accountBalance(500.0)
+                .accountBalance(50000L)
                 .accountNumber(1L)
                 .accountCreated(new Date())
                 .build();
@@ -49,7 +53,7 @@ class AccountControllerTest {
         AccountInformation destinationAccount = AccountInformation.builder()
                 .accountType("Checking")
                 .bankInformation(bankInformation)
-                .accountBalance(200.0)
+                .accountBalance(20000L)
                 .accountNumber(2L)
                 .accountCreated(new Date())
                 .build();
@@ -85,6 +89,18 @@ class AccountControllerTest {
         assertEquals(HttpStatus.FOUND, result.getStatusCode());
     }
 
+    @Test
+    void testGetByAccountNumber_FreshAfterTransfer() {
+        // Arrange
+        long balanceBefore = ((AccountInformation) accountController.getByAccountNumber(1L).getBody()).getAccountBalance();
+
+        // Act
+        assertEquals(HttpStatus.OK, accountController.transferDetails(new TransferDetails(1L, 2L, 100L), 123L, null).getStatusCode());
+
+        // Assert
+        assertEquals(balanceBefore - 100L, (long) ((AccountInformation) accountController.getByAccountNumber(1L).getBody()).getAccountBalance());
+    }
+
     @Test
     void testGetByAccountNumber_NotFound() {
         // Arrange
@@ -111,6 +127,34 @@ class AccountControllerTest {
 
     }
 
+    @Test
+    void testAddNewAccount_SharesBranch() {
+        // Arrange
+        long branchCount = bankInfoRepository.count();
+
+        // Act
+        ResponseEntity<Object> result = accountController.addNewAccount(createValidAccountInformation(), 123L);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertEquals(branchCount, bankInfoRepository.count());
+    }
+
+    @Test
+    void testAddNewAccount_MissingBankInformation() {
+        // Arrange
+        AccountInformation accountInformation = createValidAccountInformation();
+        accountInformation.setAccountNumber(9003001L);
+        accountInformation.setBankInformation(null);
+
+        // Act
+        ResponseEntity<Object> result = accountController.addNewAccount(accountInformation, 123L);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, accountController.getByAccountNumber(9003001L).getStatusCode());
+    }
+
     @Test
     void testAddNewAccount_ValidationFailure() {
         // Arrange
@@ -133,7 +177,7 @@ class AccountControllerTest {
         TransferDetails transferDetails = createValidTransferDetails();
 
         // Act
-        ResponseEntity<Object> result = accountController.transferDetails(transferDetails, customerNumber);
+        ResponseEntity<Object> result = accountController.transferDetails(transferDetails, customerNumber, null);
 
         // Assert
         assertEquals(HttpStatus.OK, result.getStatusCode());
@@ -148,13 +192,102 @@ class AccountControllerTest {
 
 
         // Act
-        ResponseEntity<Object> result = accountController.transferDetails(invalidTransfer, customerNumber);
+        ResponseEntity<Object> result = accountController.transferDetails(invalidTransfer, customerNumber, null);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
 
     }
 
+    @Test
+    void testTransferDetails_MissingAmount() {
+        // Arrange
+        Long customerNumber = 123L;
+        TransferDetails transferDetails = new TransferDetails(1L, 2L, null);
+
+        // Act
+        ResponseEntity<Object> result = accountController.transferDetails(transferDetails, customerNumber, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+    }
+
+    @Test
+    void testTransferDetails_InsufficientFunds() {
+        // Arrange
+        Long customerNumber = 123L;
+        TransferDetails transferDetails = createValidTransferDetails();
+        transferDetails.setAmount(100000000L);
+        Long creditedBalanceBefore = ((AccountInformation) accountController.getByAccountNumber(transferDetails.getToAccountNumber()).getBody()).getAccountBalance();
+
+        // Act
+        ResponseEntity<Object> result = accountController.transferDetails(transferDetails, customerNumber, null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+        assertEquals(creditedBalanceBefore, ((AccountInformation) accountController.getByAccountNumber(transferDetails.getToAccountNumber()).getBody()).getAccountBalance());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTransferDetails_FromAccountOfAnotherCustomer() {
+        // Arrange
+        Long otherCustomerNumber = 124L;
+        bankingService.addCustomer(TestFixtures.customer(otherCustomerNumber));
+        long balanceBefore = ((AccountInformation) accountController.getByAccountNumber(1L).getBody()).getAccountBalance();
+
+        // Act
+        ResponseEntity<Object> result = accountController.transferDetails(new TransferDetails(1L, 2L, 100L), otherCustomerNumber, null);
+        ResponseEntity<Object> batch = accountController.transferBatch(Collections.singletonList(new TransferDetails(1L, 2L, 100L)), otherCustomerNumber);
+
+        // Assert
+        assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN.value(), ((List<TransferResult>) batch.getBody()).get(0).getStatus().intValue());
+        assertEquals(balanceBefore, (long) ((AccountInformation) accountController.getByAccountNumber(1L).getBody()).getAccountBalance());
+    }
+
+    @Test
+    void testTransferDetails_IdempotentRetry() {
+        // Arrange
+        Long customerNumber = 123L;
+        long balanceBefore = ((AccountInformation) accountController.getByAccountNumber(1L).getBody()).getAccountBalance();
+        ResponseEntity<Object> first = accountController.transferDetails(new TransferDetails(1L, 2L, 100L), customerNumber, "retry-test-1");
+
+        // Act
+        ResponseEntity<Object> retry = accountController.transferDetails(new TransferDetails(1L, 2L, 100L), customerNumber, "retry-test-1");
+        ResponseEntity<Object> reused = accountController.transferDetails(new TransferDetails(1L, 2L, 200L), customerNumber, "retry-test-1");
+
+        // Assert
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst("Idempotent-Replayed"));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+        assertEquals(balanceBefore - 100L, (long) ((AccountInformation) accountController.getByAccountNumber(1L).getBody()).getAccountBalance());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testTransferBatch_PartialFailure() {
+        // Arrange
+        Long customerNumber = 123L;
+        List<TransferDetails> transfers = Arrays.asList(
+                new TransferDetails(1L, 2L, 1000L),
+                new TransferDetails(1L, 67890L, 1000L),
+                new TransferDetails(1L, 2L, 100000000L));
+
+        // Act
+        ResponseEntity<Object> result = accountController.transferBatch(transfers, customerNumber);
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        List<TransferResult> transferResults = (List<TransferResult>) result.getBody();
+        assertEquals(3, transferResults.size());
+        assertEquals(HttpStatus.OK.value(), transferResults.get(0).getStatus().intValue());
+        assertEquals(HttpStatus.NOT_FOUND.value(), transferResults.get(1).getStatus().intValue());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), transferResults.get(2).getStatus().intValue());
+    }
+
     @Test
     void testGetTransactionByAccountNumber_Success() {
         // Arrange
@@ -162,24 +295,87 @@ class AccountControllerTest {
         Long customerNumber = 123L;
         //Make money transfer
         TransferDetails transferDetails = createValidTransferDetails();
-        ResponseEntity<Object> result_tmp = accountController.transferDetails(transferDetails, customerNumber);
+        ResponseEntity<Object> result_tmp = accountController.transferDetails(transferDetails, customerNumber, null);
         assertEquals(HttpStatus.OK, result_tmp.getStatusCode());
 
         List<TransactionDetails> transactions = Collections.singletonList(createValidTransactionDetails());
 
 
         // Act
-        List<TransactionDetails> result = accountController.getTransactionByAccountNumber(accountNumber);
+        ResponseEntity<Object> result = accountController.getTransactionByAccountNumber(accountNumber, null, null, null, null);
 
         // Assert
-        assertFalse(result.isEmpty());
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertFalse(((TransactionPage) result.getBody()).getTransactions().isEmpty());
+    }
+
+    @Test
+    void testGetTransactionByAccountNumber_Paged() {
+        // Arrange
+        Long accountNumber = 1L;
+        Long customerNumber = 123L;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK, accountController.transferDetails(new TransferDetails(1L, 2L, 100L), customerNumber, null).getStatusCode());
+        }
+        int expectedCount = bankingService.findTransactionsByAccountNumber(accountNumber).size();
+
+        // Act
+        List<TransactionDetails> collected = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<Object> result = accountController.getTransactionByAccountNumber(accountNumber, null, null, cursor, 2);
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            TransactionPage page = (TransactionPage) result.getBody();
+            assertTrue(page.getTransactions().size() <= 2);
+            collected.addAll(page.getTransactions());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(expectedCount, collected.size());
+        for (int i = 1; i < collected.size(); i++) {
+            assertFalse(collected.get(i).getTxDateTime().after(collected.get(i - 1).getTxDateTime()));
+        }
+    }
+
+    @Test
+    void testGetTransactionByAccountNumber_InvalidPage() {
+        assertEquals(HttpStatus.BAD_REQUEST, accountController.getTransactionByAccountNumber(1L, null, null, "not-a-cursor", null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, accountController.getTransactionByAccountNumber(1L, null, null, null, 100000).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, accountController.getTransactionByAccountNumber(67890L, null, null, null, null).getStatusCode());
+    }
+
+    @Test
+    void testExportTransactions_Success() throws Exception {
+        // Arrange
+        Long accountNumber = 1L;
+        assertEquals(HttpStatus.OK, accountController.transferDetails(new TransferDetails(1L, 2L, 100L), 123L, null).getStatusCode());
+        int expectedCount = bankingService.findTransactionsByAccountNumber(accountNumber).size();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> ndjson = accountController.exportTransactions(accountNumber, "ndjson", null, null);
+        ResponseEntity<StreamingResponseBody> csv = accountController.exportTransactions(accountNumber, "csv", null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, ndjson.getStatusCode());
+        assertEquals(HttpStatus.OK, csv.getStatusCode());
+        assertEquals(expectedCount, readLines(ndjson.getBody()).length);
+        assertEquals(expectedCount + 1, readLines(csv.getBody()).length);
+        assertEquals(HttpStatus.BAD_REQUEST, accountController.exportTransactions(accountNumber, "xml", null, null).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, accountController.exportTransactions(67890L, "csv", null, null).getStatusCode());
+    }
+
+    private String[] readLines(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
     }
 
     private AccountInformation createValidAccountInformation() {
         AccountInformation accountInformation = AccountInformation.builder()
                 .accountType("Savings")
                 .bankInformation(getBankInformation())
-                .accountBalance(500.0)
+                .accountBalance(50000L)
                 .accountNumber(new Random().nextLong())
                 .accountCreated(new Date())
                 .build();
@@ -192,7 +388,7 @@ class AccountControllerTest {
         TransferDetails transferDetails = new TransferDetails();
         transferDetails.setSourceAccount(1L);
         transferDetails.setDestinationAccount(2L);
-        transferDetails.setAmount(100.0);
+        transferDetails.setAmount(10000L);
         // Set other required fields
         return transferDetails;
     }
@@ -200,7 +396,7 @@ class AccountControllerTest {
     private TransactionDetails createValidTransactionDetails() {
         TransactionDetails transactionDetails = new TransactionDetails();
         transactionDetails.setTransactionType("Deposit");
-        transactionDetails.setAmount(50.0);
+        transactionDetails.setAmount(5000L);
         // Set other required fields
         return transactionDetails;
     }
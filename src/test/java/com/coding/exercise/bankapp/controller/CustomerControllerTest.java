@@ -0,0 +1,137 @@
+package com.coding.exercise.bankapp.controller;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.repository.TransactionArchiveRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerControllerTest {
+    @Autowired
+    private CustomerController customerController;
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @BeforeAll
+    void setUp() {
+        for (long customerNumber = 9101L; customerNumber <= 9105L; customerNumber++) {
+            bankingService.addCustomer(TestFixtures.customer(customerNumber));
+        }
+        TestFixtures.addAccounts(bankingService, 9101L, "Checking", 10000L, 9101002L, 9101001L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetCustomerAccounts_Success() {
+        // Act
+        ResponseEntity<Object> result = customerController.getCustomerAccounts(9101L);
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        List<AccountInformation> accounts = (List<AccountInformation>) result.getBody();
+        assertEquals(2, accounts.size());
+        assertEquals(Long.valueOf(9101001L), accounts.get(0).getAccountNumber());
+        assertEquals(Long.valueOf(9101002L), accounts.get(1).getAccountNumber());
+        assertEquals(TestFixtures.BRANCH_NAME, accounts.get(0).getBankInformation().getBranchName());
+        assertTrue(((List<AccountInformation>) customerController.getCustomerAccounts(9102L).getBody()).isEmpty());
+    }
+
+    @Test
+    void testDeleteCustomer_WithAccountsAndTransactions() {
+        // Arrange
+        Long customerNumber = 9104L;
+        TestFixtures.addAccounts(bankingService, customerNumber, "Savings", 10000L, 9104001L, 9104002L);
+        assertEquals(HttpStatus.OK, bankingService.transferDetails(new TransferDetails(9104001L, 9104002L, 100L), customerNumber).getStatusCode());
+        assertEquals(HttpStatus.OK, bankingService.transferDetails(new TransferDetails(9104002L, 9104001L, 50L), customerNumber).getStatusCode());
+
+        // Act
+        ResponseEntity<Object> result = customerController.deleteCustomer(customerNumber, true);
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, customerController.getCustomerAccounts(customerNumber).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, bankingService.findByAccountNumber(9104001L).getStatusCode());
+        assertTrue(transactionRepository.findByAccountNumber(9104001L).map(List::isEmpty).orElse(true));
+        assertEquals(4, transactionArchiveRepository.countByCustomerNumber(customerNumber));
+        assertEquals(HttpStatus.NOT_FOUND, customerController.deleteCustomer(customerNumber, true).getStatusCode());
+    }
+
+    @Test
+    void testGetCustomerAccounts_NotFound() {
+        assertEquals(HttpStatus.NOT_FOUND, customerController.getCustomerAccounts(9199L).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, customerController.getCustomerAccounts(-1L).getStatusCode());
+    }
+
+    @Test
+    void testGetAllCustomers_Paged() {
+        // Act
+        List<CustomerDetails> collected = new ArrayList<>();
+        CustomerPage page;
+        int pageIndex = 0;
+        do {
+            ResponseEntity<Object> result = customerController.getAllCustomers(pageIndex++, 2, "lastName,desc");
+            assertEquals(HttpStatus.OK, result.getStatusCode());
+            page = (CustomerPage) result.getBody();
+            assertTrue(page.getCustomers().size() <= 2);
+            collected.addAll(page.getCustomers());
+        } while (pageIndex < page.getTotalPages());
+
+        // Assert
+        assertEquals(page.getTotalElements(), collected.size());
+        Set<Long> customerNumbers = new HashSet<>();
+        for (int i = 0; i < collected.size(); i++) {
+            assertTrue(customerNumbers.add(collected.get(i).getCustomerNumber()));
+            assertTrue(collected.get(i).getCustomerAddress() != null && collected.get(i).getContactDetails() != null);
+            if (i > 0) {
+                assertTrue(collected.get(i).getLastName().compareTo(collected.get(i - 1).getLastName()) <= 0);
+            }
+        }
+    }
+
+    @Test
+    void testGetAllCustomers_InvalidPage() {
+        assertEquals(HttpStatus.BAD_REQUEST, customerController.getAllCustomers(-1, null, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, customerController.getAllCustomers(null, 100000, null).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, customerController.getAllCustomers(null, null, "id").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, customerController.getAllCustomers(null, null, "lastName,sideways").getStatusCode());
+    }
+
+    @Test
+    void testStreamAllCustomers_Success() throws Exception {
+        // Arrange
+        long expectedCount = ((CustomerPage) customerController.getAllCustomers(null, null, null).getBody()).getTotalElements();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> result = customerController.streamAllCustomers();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.getBody().writeTo(outputStream);
+
+        // Assert
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(expectedCount, new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n").length);
+    }
+}
@@ -0,0 +1,123 @@
+package com.coding.exercise.bankapp.controller;
+
+import com.coding.exercise.bankapp.BankingApplication;
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Running server for the controller load tests, started on a random port with the given
+ * configuration, and the requests they send to it.
+ */
+class LoadTestServer implements AutoCloseable {
+
+    static final long OPENING_BALANCE = 100000000L;
+
+    private final ConfigurableApplicationContext context;
+    private final BankingServiceImpl bankingService;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * @param args configuration under test, as command line arguments
+     */
+    LoadTestServer(String... args) {
+        // A database of its own and no second-level cache, whose JCache manager is JVM-wide and
+        // closed with this context, so the test contexts running in this JVM are left alone
+        List<String> allArgs = new ArrayList<>(Arrays.asList("--server.port=0",
+                "--spring.datasource.generate-unique-name=true",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false"));
+        allArgs.addAll(Arrays.asList(args));
+
+        context = new SpringApplicationBuilder(BankingApplication.class).run(allArgs.toArray(new String[0]));
+        bankingService = context.getBean(BankingServiceImpl.class);
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/bank-api/";
+    }
+
+    /**
+     * Create the customer and its accounts, numbered from customerNumber * 1000 + 1, each holding OPENING_BALANCE.
+     *
+     * @return the first account number
+     */
+    long createAccounts(Long customerNumber, int accounts) {
+        bankingService.addCustomer(TestFixtures.customer(customerNumber));
+
+        long firstAccount = customerNumber * 1000 + 1;
+        for (int i = 0; i < accounts; i++) {
+            bankingService.addNewAccount(TestFixtures.account(firstAccount + i, "Checking", OPENING_BALANCE), customerNumber);
+        }
+        return firstAccount;
+    }
+
+    long totalBalance(long firstAccount, int accounts) {
+        long total = 0;
+        for (int i = 0; i < accounts; i++) {
+            total += ((AccountInformation) bankingService.findByAccountNumber(firstAccount + i).getBody()).getAccountBalance();
+        }
+        return total;
+    }
+
+    HttpRequest transfer(Long customerNumber, long fromAccountNumber, long toAccountNumber) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "accounts/transfer/" + customerNumber))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"fromAccountNumber\":" + fromAccountNumber
+                        + ",\"toAccountNumber\":" + toAccountNumber + ",\"amount\":0.01}"))
+                .build();
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * Send all requests at once and wait for their responses.
+     *
+     * @return the responses, in request order
+     */
+    List<Response> fire(int requests, IntFunction<HttpRequest> request) throws Exception {
+        List<CompletableFuture<Response>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(request.apply(i), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> new Response(response.statusCode(), System.nanoTime() - sent)));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        return responses.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    static class Response {
+
+        final int status;
+        final long latencyNanos;
+
+        Response(int status, long latencyNanos) {
+            this.status = status;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+}
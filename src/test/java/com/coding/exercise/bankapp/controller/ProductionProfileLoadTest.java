@@ -0,0 +1,77 @@
+package com.coding.exercise.bankapp.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test of the prod profile (Hikari pool sizing, JDBC batching, open-in-view off) against
+ * the default configuration: a burst of concurrent customer creations, then of transfers,
+ * against a running server, each after an unmeasured warm-up burst. Logs the throughput of each and checks that every request
+ * succeeded and no money was created or lost. The second test in a JVM runs on warmer code;
+ * compare the two in separate runs (-Dtest=ProductionProfileLoadTest#testProdProfile).
+ */
+@Tag("benchmark")
+class ProductionProfileLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductionProfileLoadTest.class);
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int ACCOUNTS = 10;
+
+    @Test
+    void testDefaultProfile() throws Exception {
+        runLoad("default", 9701L);
+    }
+
+    @Test
+    void testProdProfile() throws Exception {
+        runLoad("prod", 9702L, "--spring.profiles.active=prod");
+    }
+
+    private void runLoad(String profile, Long customerNumber, String... profileArgs) throws Exception {
+        // Arrange
+        try (LoadTestServer server = new LoadTestServer(profileArgs)) {
+
+            long firstAccount = server.createAccounts(customerNumber, ACCOUNTS);
+
+            IntFunction<HttpRequest> addCustomer = i -> server.post("customers/add", "{\"customerNumber\":" + (customerNumber * 100000 + i)
+                    + ",\"firstName\":\"Load\",\"lastName\":\"Test\",\"status\":\"Active\""
+                    + ",\"customerAddress\":{\"address1\":\"1 Load St\",\"city\":\"Cityville\",\"state\":\"CA\",\"zip\":\"12345\",\"country\":\"USA\"}"
+                    + ",\"contactDetails\":{\"emailId\":\"load.test@example.com\"}}");
+            IntFunction<HttpRequest> transfer = i -> server.transfer(customerNumber, firstAccount + i % ACCOUNTS, firstAccount + (i + 1) % ACCOUNTS);
+
+            server.fire(WARMUP_REQUESTS, i -> addCustomer.apply(CONCURRENT_REQUESTS + i));
+            server.fire(WARMUP_REQUESTS, transfer);
+
+            // Act
+            long customerStart = System.nanoTime();
+            List<LoadTestServer.Response> customerResponses = server.fire(CONCURRENT_REQUESTS, addCustomer);
+            report(profile, "customer creations", customerStart);
+
+            long transferStart = System.nanoTime();
+            List<LoadTestServer.Response> transferResponses = server.fire(CONCURRENT_REQUESTS, transfer);
+            report(profile, "transfers", transferStart);
+
+            // Assert
+            assertEquals(0, customerResponses.stream().filter(response -> response.status != 201).count());
+            assertEquals(0, transferResponses.stream().filter(response -> response.status != 200).count());
+            assertEquals(ACCOUNTS * LoadTestServer.OPENING_BALANCE, server.totalBalance(firstAccount, ACCOUNTS));
+        }
+    }
+
+    private void report(String profile, String operation, long start) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("{} {} concurrent {}: {} ms, {} requests/s",
+                profile, CONCURRENT_REQUESTS, operation, elapsedMillis, Math.round(CONCURRENT_REQUESTS * 1000.0 / Math.max(elapsedMillis, 1)));
+    }
+}
@@ -0,0 +1,66 @@
+package com.coding.exercise.bankapp.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Load test of the request thread model: a burst of concurrent transfer and account lookup
+ * requests against a running server, once on the Tomcat platform thread pool and once on
+ * virtual threads (spring.threads.virtual.enabled). Logs throughput and
+ * latency for each and checks that every request succeeded and no money was created or lost.
+ */
+@Tag("benchmark")
+class RequestThreadModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestThreadModeLoadTest.class);
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+    private static final int PLATFORM_THREADS = 50;
+    private static final int ACCOUNTS = 10;
+
+    @Test
+    void testPlatformThreads() throws Exception {
+        runLoad("platform", 9501L, false);
+    }
+
+    @Test
+    void testVirtualThreads() throws Exception {
+        runLoad("virtual", 9502L, true);
+    }
+
+    private void runLoad(String threadMode, Long customerNumber, boolean virtualThreads) throws Exception {
+        // Arrange
+        try (LoadTestServer server = new LoadTestServer("--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + PLATFORM_THREADS)) {
+
+            long firstAccount = server.createAccounts(customerNumber, ACCOUNTS);
+
+            // Act
+            long start = System.nanoTime();
+            List<LoadTestServer.Response> responses = server.fire(CONCURRENT_REQUESTS, i -> i % 2 == 0
+                    ? server.transfer(customerNumber, firstAccount + i % ACCOUNTS, firstAccount + (i + 1) % ACCOUNTS)
+                    : server.get("accounts/" + (firstAccount + i % ACCOUNTS)));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long[] sorted = responses.stream().mapToLong(response -> response.latencyNanos).sorted().toArray();
+            long failed = responses.stream().filter(response -> response.status != 200 && response.status != 302).count();
+
+            log.info("{} {} concurrent requests ({} max platform threads): {} ms, {} requests/s, p50 {} ms, p99 {} ms, {} failed",
+                    threadMode, CONCURRENT_REQUESTS, PLATFORM_THREADS, elapsedMillis,
+                    Math.round(CONCURRENT_REQUESTS * 1000.0 / Math.max(elapsedMillis, 1)),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length / 2]),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[sorted.length * 99 / 100]), failed);
+
+            // Assert
+            assertEquals(0, failed);
+            assertEquals(ACCOUNTS * LoadTestServer.OPENING_BALANCE, server.totalBalance(firstAccount, ACCOUNTS));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.coding.exercise.bankapp.domain;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testTransferAmount_ReadAsMinorUnits() throws Exception {
+        // Act
+        TransferDetails transferDetails = objectMapper.readValue(
+                "{\"fromAccountNumber\":1,\"toAccountNumber\":2,\"amount\":123.45}", TransferDetails.class);
+
+        // Assert
+        assertEquals(Long.valueOf(12345L), transferDetails.getTransferAmount());
+    }
+
+    @Test
+    void testTransferAmount_WrittenAsMajorUnits() throws Exception {
+        // Act
+        String json = objectMapper.writeValueAsString(new TransferDetails(1L, 2L, 12345L));
+
+        // Assert
+        assertTrue(json.contains("123.45"), json);
+    }
+
+    @Test
+    void testTransferAmount_SubCentRejected() {
+        // Act & Assert
+        assertThrows(JsonMappingException.class, () -> objectMapper.readValue(
+                "{\"fromAccountNumber\":1,\"toAccountNumber\":2,\"amount\":1.234}", TransferDetails.class));
+    }
+}
@@ -0,0 +1,119 @@
+package com.coding.exercise.bankapp.service;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.lock.AccountLockingMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Contention benchmark: many threads transferring between a handful of hot accounts,
+ * once per locking mode. Logs throughput and conflict counts, and checks that no
+ * money is created or lost by the run.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AccountLockingModeBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountLockingModeBenchmarkTest.class);
+
+    private static final Long CUSTOMER_NUMBER = 9002L;
+    private static final long FIRST_ACCOUNT = 9002001L;
+    private static final int HOT_ACCOUNTS = 4;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS = 400;
+    private static final long OPENING_BALANCE = 100000000L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+
+    private Object originalLockingMode;
+
+    @BeforeAll
+    void setUp() {
+        originalLockingMode = ReflectionTestUtils.getField(targetService(), "lockingMode");
+
+        bankingService.addCustomer(TestFixtures.customer(CUSTOMER_NUMBER));
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            bankingService.addNewAccount(TestFixtures.account(FIRST_ACCOUNT + i, "Business", OPENING_BALANCE), CUSTOMER_NUMBER);
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        ReflectionTestUtils.setField(targetService(), "lockingMode", originalLockingMode);
+    }
+
+    @ParameterizedTest
+    @EnumSource(AccountLockingMode.class)
+    void benchmarkHotAccountTransfers(AccountLockingMode lockingMode) throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(targetService(), "lockingMode", lockingMode);
+        Random random = new Random(42);
+        List<Callable<ResponseEntity<Object>>> tasks = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            long from = FIRST_ACCOUNT + random.nextInt(HOT_ACCOUNTS);
+            long to = FIRST_ACCOUNT + (from - FIRST_ACCOUNT + 1 + random.nextInt(HOT_ACCOUNTS - 1)) % HOT_ACCOUNTS;
+            tasks.add(() -> bankingService.transferDetails(new TransferDetails(from, to, 100L), CUSTOMER_NUMBER));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long totalBefore = totalBalance();
+
+        // Act
+        int succeeded = 0;
+        int conflicts = 0;
+        long start = System.nanoTime();
+        try {
+            for (Future<ResponseEntity<Object>> result : executor.invokeAll(tasks)) {
+                HttpStatusCode status = result.get().getStatusCode();
+                if (status == HttpStatus.OK) {
+                    succeeded++;
+                } else if (status == HttpStatus.CONFLICT) {
+                    conflicts++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        log.info("{} {} transfers, {} threads, {} hot accounts: {} ms, {} transfers/s, {} ok, {} conflicts",
+                lockingMode, TRANSFERS, THREADS, HOT_ACCOUNTS, elapsedMillis,
+                Math.round(TRANSFERS * 1000.0 / Math.max(elapsedMillis, 1)), succeeded, conflicts);
+
+        // Assert
+        assertEquals(TRANSFERS, succeeded + conflicts);
+        assertEquals(totalBefore, totalBalance());
+    }
+
+    private long totalBalance() {
+        long total = 0;
+        for (int i = 0; i < HOT_ACCOUNTS; i++) {
+            total += ((AccountInformation) bankingService.findByAccountNumber(FIRST_ACCOUNT + i).getBody()).getAccountBalance();
+        }
+        return total;
+    }
+
+    private BankingServiceImpl targetService() {
+        return AopTestUtils.getTargetObject(bankingService);
+    }
+}
@@ -0,0 +1,68 @@
+package com.coding.exercise.bankapp.service;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BankingServiceConcurrencyTest {
+
+    private static final Long CUSTOMER_NUMBER = 9001L;
+    private static final Long ACCOUNT_A = 9001001L;
+    private static final Long ACCOUNT_B = 9001002L;
+    private static final Long ACCOUNT_C = 9001003L;
+    private static final long OPENING_BALANCE = 1000000L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+
+    @BeforeAll
+    void setUp() {
+        TestFixtures.addCustomerWithAccounts(bankingService, CUSTOMER_NUMBER, OPENING_BALANCE, ACCOUNT_A, ACCOUNT_B, ACCOUNT_C);
+    }
+
+    @Test
+    void testConcurrentOpposingTransfers_NoLostUpdates() throws Exception {
+        // Arrange
+        int transfersPerDirection = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<ResponseEntity<Object>>> tasks = new ArrayList<>();
+        for (int i = 0; i < transfersPerDirection; i++) {
+            tasks.add(() -> bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 100L), CUSTOMER_NUMBER));
+            tasks.add(() -> bankingService.transferDetails(new TransferDetails(ACCOUNT_B, ACCOUNT_C, 200L), CUSTOMER_NUMBER));
+            tasks.add(() -> bankingService.transferDetails(new TransferDetails(ACCOUNT_C, ACCOUNT_A, 300L), CUSTOMER_NUMBER));
+        }
+
+        // Act
+        try {
+            for (Future<ResponseEntity<Object>> result : executor.invokeAll(tasks)) {
+                assertEquals(HttpStatus.OK, result.get().getStatusCode());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(OPENING_BALANCE + 200L * transfersPerDirection, balanceOf(ACCOUNT_A));
+        assertEquals(OPENING_BALANCE - 100L * transfersPerDirection, balanceOf(ACCOUNT_B));
+        assertEquals(OPENING_BALANCE - 100L * transfersPerDirection, balanceOf(ACCOUNT_C));
+    }
+
+    private long balanceOf(Long accountNumber) {
+        AccountInformation account = (AccountInformation) bankingService.findByAccountNumber(accountNumber).getBody();
+        return account.getAccountBalance();
+    }
+}
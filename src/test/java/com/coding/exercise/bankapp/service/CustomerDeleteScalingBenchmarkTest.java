@@ -0,0 +1,105 @@
+package com.coding.exercise.bankapp.service;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
+import com.coding.exercise.bankapp.service.repository.TransactionArchiveRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * History-size scaling benchmark for customer offboarding: time to delete a customer with
+ * two accounts as their transaction history grows by orders of magnitude. With set-based
+ * deletes and no rows loaded, the time should grow far slower than the history.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerDeleteScalingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerDeleteScalingBenchmarkTest.class);
+
+    private static final long FIRST_CUSTOMER = 9951L;
+    private static final long FIRST_ACCOUNT = 7600000000L;
+    private static final int[] HISTORY_SIZES = {1000, 10000, 100000};
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private TransactionArchiveRepository transactionArchiveRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from transaction_archive where customer_number >= ? and customer_number < ?", FIRST_CUSTOMER, FIRST_CUSTOMER + HISTORY_SIZES.length);
+    }
+
+    @Test
+    void benchmarkDeleteCustomerByHistorySize() {
+        for (int i = 0; i < HISTORY_SIZES.length; i++) {
+            // Arrange
+            long customerNumber = FIRST_CUSTOMER + i;
+            long firstAccount = FIRST_ACCOUNT + i * 10L;
+            createCustomer(customerNumber, firstAccount);
+            insertTransfers(firstAccount, HISTORY_SIZES[i] / 2);
+
+            // Act
+            long start = System.nanoTime();
+            HttpStatus status = (HttpStatus) bankingService.deleteCustomer(customerNumber, true).getStatusCode();
+            long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+            log.info("{} transactions: customer deleted and archived in {} ms", HISTORY_SIZES[i], elapsedMillis);
+
+            // Assert
+            assertEquals(HttpStatus.OK, status);
+            assertEquals(HISTORY_SIZES[i], transactionArchiveRepository.countByCustomerNumber(customerNumber));
+            assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("select count(*) from transaction where account_number in (?, ?)",
+                    Integer.class, firstAccount, firstAccount + 1));
+            assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject("select count(*) from account where account_number in (?, ?)",
+                    Integer.class, firstAccount, firstAccount + 1));
+        }
+    }
+
+    private void createCustomer(long customerNumber, long firstAccount) {
+        TestFixtures.addCustomerWithAccounts(bankingService, customerNumber, 100000L, firstAccount, firstAccount + 1);
+    }
+
+    /**
+     * Transfers back and forth between the customer's two accounts, as DEBIT and CREDIT rows.
+     */
+    private void insertTransfers(long firstAccount, int transfers) {
+        List<Object[]> transactions = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        for (int i = 0; i < transfers; i++) {
+            long from = firstAccount + i % 2;
+            long to = firstAccount + (i + 1) % 2;
+            byte[] transferId = toBytes(UuidStrategy.TIME_ORDERED.next());
+            transactions.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), from, 100L, now, "DEBIT", transferId, to});
+            transactions.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), to, 100L, now, "CREDIT", transferId, from});
+        }
+
+        jdbcTemplate.batchUpdate("insert into transaction (tx_id, account_number, tx_amount, tx_date_time, tx_type, transfer_id, counterpart_account_number) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", transactions);
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,105 @@
+package com.coding.exercise.bankapp.service;
+
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Data-size scaling benchmark for the indexed lookup paths: average
+ * findByAccountNumber latency on the Account and Transaction tables as
+ * they grow by orders of magnitude. With the lookup columns indexed the
+ * latency should stay roughly flat.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LookupScalingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LookupScalingBenchmarkTest.class);
+
+    private static final long FIRST_ACCOUNT = 7000000000L;
+    private static final int[] TABLE_SIZES = {1000, 10000, 100000};
+    private static final int LOOKUPS = 2000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from transaction where account_number >= ?", FIRST_ACCOUNT);
+        jdbcTemplate.update("delete from account where account_number >= ?", FIRST_ACCOUNT);
+    }
+
+    @Test
+    void benchmarkLookupLatencyByTableSize() {
+        Random random = new Random(42);
+        int rows = 0;
+
+        for (int tableSize : TABLE_SIZES) {
+            // Arrange
+            insertRows(rows, tableSize);
+            rows = tableSize;
+
+            // Act
+            long accountNanos = 0;
+            long transactionNanos = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                long accountNumber = FIRST_ACCOUNT + random.nextInt(rows);
+
+                long start = System.nanoTime();
+                boolean accountFound = accountRepository.findByAccountNumber(accountNumber).isPresent();
+                accountNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                boolean transactionFound = transactionRepository.findByAccountNumber(accountNumber).map(list -> !list.isEmpty()).orElse(false);
+                transactionNanos += System.nanoTime() - start;
+
+                // Assert
+                assertTrue(accountFound && transactionFound);
+            }
+
+            log.info("{} rows: account lookup {} us, transaction lookup {} us",
+                    rows, String.format("%.1f", accountNanos / 1000.0 / LOOKUPS), String.format("%.1f", transactionNanos / 1000.0 / LOOKUPS));
+        }
+    }
+
+    private void insertRows(int from, int to) {
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        for (int i = from; i < to; i++) {
+            accounts.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), FIRST_ACCOUNT + i, 10000L, 0L});
+            transactions.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), FIRST_ACCOUNT + i, 10000L, now, "CREDIT"});
+        }
+
+        jdbcTemplate.batchUpdate("insert into account (acct_id, account_number, account_balance, version) values (?, ?, ?, ?)", accounts);
+        jdbcTemplate.batchUpdate("insert into transaction (tx_id, account_number, tx_amount, tx_date_time, tx_type) values (?, ?, ?, ?, ?)", transactions);
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,134 @@
+package com.coding.exercise.bankapp.service;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.config.CacheConfig;
+import com.coding.exercise.bankapp.domain.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read paths must load an aggregate with a fixed number of statements, however many
+ * associations it has or customers a page holds.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryCountTest {
+
+    private static final Long CUSTOMER_NUMBER = 9201L;
+    private static final Long ACCOUNT_NUMBER = 9201001L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void setUp() {
+        for (long customerNumber = CUSTOMER_NUMBER; customerNumber < CUSTOMER_NUMBER + 5; customerNumber++) {
+            bankingService.addCustomer(TestFixtures.customer(customerNumber));
+        }
+        TestFixtures.addAccounts(bankingService, CUSTOMER_NUMBER, "Savings", 10000L, ACCOUNT_NUMBER);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterAll
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        clearLookupCaches();
+        statistics.clear();
+    }
+
+    private void clearLookupCaches() {
+        cacheManager.getCache(CacheConfig.ACCOUNTS).clear();
+        cacheManager.getCache(CacheConfig.CUSTOMERS).clear();
+    }
+
+    @Test
+    void testFindByCustomerNumber_SingleStatement() {
+        CustomerDetails customerDetails = bankingService.findByCustomerNumber(CUSTOMER_NUMBER);
+
+        assertNotNull(customerDetails.getCustomerAddress());
+        assertNotNull(customerDetails.getContactDetails());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindByAccountNumber_BranchFromSecondLevelCache() {
+        // the first read may have to populate the cache
+        bankingService.findByAccountNumber(ACCOUNT_NUMBER);
+        clearLookupCaches();
+        statistics.clear();
+
+        ResponseEntity<Object> result = bankingService.findByAccountNumber(ACCOUNT_NUMBER);
+
+        assertEquals(HttpStatus.FOUND, result.getStatusCode());
+        assertNotNull(((AccountInformation) result.getBody()).getBankInformation().getBranchAddress());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+    }
+
+    @Test
+    void testFindByCustomerNumber_CachedUntilUpdated() {
+        CustomerDetails customerDetails = bankingService.findByCustomerNumber(CUSTOMER_NUMBER + 1);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        bankingService.findByCustomerNumber(CUSTOMER_NUMBER + 1);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        // callers get copies, so a change to one is not seen by the next read
+        customerDetails.setStatus("Changed");
+        assertEquals("Active", bankingService.findByCustomerNumber(CUSTOMER_NUMBER + 1).getStatus());
+
+        CustomerDetails update = TestFixtures.customer(CUSTOMER_NUMBER + 1);
+        update.setStatus("Inactive");
+        assertEquals(HttpStatus.OK, bankingService.updateCustomer(update, CUSTOMER_NUMBER + 1).getStatusCode());
+        statistics.clear();
+
+        assertEquals("Inactive", bankingService.findByCustomerNumber(CUSTOMER_NUMBER + 1).getStatus());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindAllPaged_BoundedByPageNotSize() {
+        ResponseEntity<Object> result = bankingService.findAll(0, 500, null);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertTrue(((CustomerPage) result.getBody()).getCustomers().size() >= 5);
+        // page query plus count query
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+    }
+
+    @Test
+    void testExportCustomers_SingleStatement() throws Exception {
+        bankingService.exportCustomers().getBody().writeTo(new ByteArrayOutputStream());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
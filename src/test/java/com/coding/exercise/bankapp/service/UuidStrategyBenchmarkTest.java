@@ -0,0 +1,96 @@
+package com.coding.exercise.bankapp.service;
+
+import com.coding.exercise.bankapp.BankingApplication;
+import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput of Transaction entities persisted through the repository, with the
+ * configured JDBC batching, into the real transaction table: RANDOM keys (before) against
+ * TIME_ORDERED keys (after), each in an application context and H2 database of its own.
+ */
+@Tag("benchmark")
+class UuidStrategyBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidStrategyBenchmarkTest.class);
+
+    private static final int WARMUP_ROWS = 20000;
+    private static final int ROWS = 100000;
+    private static final int ROWS_PER_TRANSACTION = 1000;
+
+    @Test
+    void benchmarkInsertThroughput() {
+        long randomRate = insertRate(UuidStrategy.RANDOM);
+        long timeOrderedRate = insertRate(UuidStrategy.TIME_ORDERED);
+
+        log.info("RANDOM (before) {} rows/s, TIME_ORDERED (after) {} rows/s, {}x",
+                randomRate, timeOrderedRate, Math.round(timeOrderedRate * 100.0 / Math.max(randomRate, 1)) / 100.0);
+    }
+
+    private long insertRate(UuidStrategy uuidStrategy) {
+        // A database of its own and no second-level cache, whose JCache manager is JVM-wide
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BankingApplication.class)
+                .run("--bankapp.id.uuid-strategy=" + uuidStrategy,
+                        "--server.port=0",
+                        "--spring.datasource.generate-unique-name=true",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false")) {
+            TransactionRepository transactionRepository = context.getBean(TransactionRepository.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            // Arrange
+            insert(transactionRepository, transactionTemplate, WARMUP_ROWS);
+            transactionRepository.deleteAll();
+
+            // Act
+            long start = System.nanoTime();
+            UUID lastId = insert(transactionRepository, transactionTemplate, ROWS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long rate = Math.round(ROWS * 1000.0 / Math.max(elapsedMillis, 1));
+            log.info("{} {} rows: {} ms, {} rows/s", uuidStrategy, ROWS, elapsedMillis, rate);
+
+            // Assert: the keys came from the strategy under test
+            assertEquals(ROWS, transactionRepository.count());
+            assertEquals(uuidStrategy == UuidStrategy.RANDOM ? 4 : 7, lastId.version());
+            return rate;
+        }
+    }
+
+    /**
+     * @return the id generated for the last row
+     */
+    private static UUID insert(TransactionRepository transactionRepository, TransactionTemplate transactionTemplate, int rows) {
+        UUID lastId = null;
+        for (int offset = 0; offset < rows; offset += ROWS_PER_TRANSACTION) {
+            List<Transaction> transactions = new ArrayList<>(ROWS_PER_TRANSACTION);
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                transactions.add(Transaction.builder()
+                        .accountNumber((long) (offset + i) % 1000)
+                        .txType("DEBIT")
+                        .txAmount(100L)
+                        .txDateTime(new Date())
+                        .build());
+            }
+            transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(transactions));
+            lastId = transactions.get(ROWS_PER_TRANSACTION - 1).getId();
+        }
+        return lastId;
+    }
+}
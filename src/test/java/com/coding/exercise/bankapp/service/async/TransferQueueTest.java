@@ -0,0 +1,178 @@
+package com.coding.exercise.bankapp.service.async;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.controller.AccountController;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransferQueueTest {
+
+    private static final Long CUSTOMER_NUMBER = 9401L;
+    private static final Long ACCOUNT_A = 9401001L;
+    private static final Long ACCOUNT_B = 9401002L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private TransferQueue transferQueue;
+    @Autowired
+    private AccountController accountController;
+
+    private TransferQueue enabledQueue;
+
+    @BeforeAll
+    void setUp() {
+        TestFixtures.addCustomerWithAccounts(bankingService, CUSTOMER_NUMBER, 10000L, ACCOUNT_A, ACCOUNT_B);
+        enabledQueue = startQueue(bankingService, 8, 1000);
+    }
+
+    @AfterAll
+    void tearDown() throws InterruptedException {
+        enabledQueue.stop();
+    }
+
+    @Test
+    void testSubmit_ExecutedInOrderPerAccount() throws Exception {
+        // Arrange
+        long[] amounts = {6000L, 3000L, 2000L};
+
+        // Act
+        List<String> transferIds = new ArrayList<>();
+        for (long amount : amounts) {
+            ResponseEntity<Object> response = enabledQueue.submit(new TransferDetails(ACCOUNT_A, ACCOUNT_B, amount), CUSTOMER_NUMBER, null);
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+            transferIds.add(((TransferStatus) response.getBody()).getTransferId());
+        }
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), awaitResult(enabledQueue, transferIds.get(0)).getStatus().intValue());
+        assertEquals(HttpStatus.OK.value(), awaitResult(enabledQueue, transferIds.get(1)).getStatus().intValue());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), awaitResult(enabledQueue, transferIds.get(2)).getStatus().intValue());
+        assertEquals(1000L, (long) ((AccountInformation) bankingService.findByAccountNumber(ACCOUNT_A).getBody()).getAccountBalance());
+    }
+
+    @Test
+    void testSubmit_PartitionFull_TooManyRequests() throws Exception {
+        // Arrange: one partition holding one transfer, behind a worker stuck on the transfer before it
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BankingServiceImpl blockingService = new BankingServiceImpl(null) {
+            @Override
+            public ResponseEntity<Object> transferBatch(List<TransferDetails> transferDetailsList, Long customerNumber) {
+                executing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Customer Number " + customerNumber + " not found.");
+            }
+        };
+        TransferQueue fullQueue = startQueue(blockingService, 1, 1);
+        TransferDetails transferDetails = new TransferDetails(ACCOUNT_A, ACCOUNT_B, 100L);
+
+        try {
+            assertEquals(HttpStatus.ACCEPTED, fullQueue.submit(transferDetails, CUSTOMER_NUMBER, null).getStatusCode());
+            assertTrue(executing.await(10, TimeUnit.SECONDS));
+            assertEquals(HttpStatus.ACCEPTED, fullQueue.submit(transferDetails, CUSTOMER_NUMBER, null).getStatusCode());
+
+            // Act
+            ResponseEntity<Object> response = fullQueue.submit(transferDetails, CUSTOMER_NUMBER, null);
+
+            // Assert
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+            assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        } finally {
+            release.countDown();
+            fullQueue.stop();
+        }
+    }
+
+    @Test
+    void testTransferEndpoint_AcceptedWithStatusUrl() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/bank-api/accounts/transfer/" + CUSTOMER_NUMBER);
+        request.setContextPath("/bank-api");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        ReflectionTestUtils.setField(accountController, "transferQueue", enabledQueue);
+
+        try {
+            // Act
+            ResponseEntity<Object> response = accountController.transferDetails(new TransferDetails(ACCOUNT_B, ACCOUNT_A, 100L), CUSTOMER_NUMBER, null);
+
+            // Assert
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+            TransferStatus queued = (TransferStatus) response.getBody();
+            assertEquals(TransferStatus.State.QUEUED, queued.getState());
+            assertEquals("/bank-api/accounts/transfer/status/" + queued.getTransferId(), response.getHeaders().getLocation().getPath());
+            assertEquals(HttpStatus.OK, accountController.getTransferStatus(queued.getTransferId()).getStatusCode());
+            assertEquals(HttpStatus.OK.value(), awaitResult(enabledQueue, queued.getTransferId()).getStatus().intValue());
+        } finally {
+            ReflectionTestUtils.setField(accountController, "transferQueue", transferQueue);
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testDisabled_NoWorkersAndSubmitRejected() {
+        // Act & Assert: bankapp.transfer.async.enabled is off by default
+        assertFalse(transferQueue.isEnabled());
+        assertNull(ReflectionTestUtils.getField(transferQueue, "workers"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, transferQueue.submit(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 100L), CUSTOMER_NUMBER, null).getStatusCode());
+    }
+
+    @Test
+    void testFindStatus_Unknown() {
+        // Act & Assert
+        assertEquals(HttpStatus.NOT_FOUND, enabledQueue.findStatus("unknown").getStatusCode());
+    }
+
+    /**
+     * A queue with asynchronous transfers enabled, apart from the disabled one of the application context.
+     */
+    private TransferQueue startQueue(BankingServiceImpl service, int partitions, int queueCapacity) {
+        TransferQueue queue = new TransferQueue();
+        ReflectionTestUtils.setField(queue, "bankingService", service);
+        ReflectionTestUtils.setField(queue, "enabled", true);
+        ReflectionTestUtils.setField(queue, "partitionCount", partitions);
+        ReflectionTestUtils.setField(queue, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(queue, "microBatchSize", 100);
+        ReflectionTestUtils.setField(queue, "statusRetention", 1000L);
+        queue.start();
+        return queue;
+    }
+
+    private TransferResult awaitResult(TransferQueue queue, String transferId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            TransferStatus status = (TransferStatus) queue.findStatus(transferId).getBody();
+            if (status.getState() == TransferStatus.State.COMPLETED) {
+                return status.getResult();
+            }
+            Thread.sleep(20);
+        }
+        return fail("Transfer " + transferId + " did not complete");
+    }
+}
@@ -0,0 +1,237 @@
+package com.coding.exercise.bankapp.service.ledger;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.idempotency.TransferIdempotencyStore;
+import com.coding.exercise.bankapp.service.lock.AccountLockManager;
+import com.coding.exercise.bankapp.service.lock.AccountLockingMode;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionArchiveRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LedgerEngineTest {
+
+    private static final Long CUSTOMER_NUMBER = 9301L;
+    private static final Long ACCOUNT_A = 9301001L;
+    private static final Long ACCOUNT_B = 9301002L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private LedgerEngine ledgerEngine;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private TransactionArchiveRepository transactionArchiveRepository;
+    @Autowired
+    private TransferIdempotencyStore transferIdempotencyStore;
+    @Autowired
+    private AccountLockManager accountLockManager;
+
+    private Object originalLockingMode;
+
+    @BeforeAll
+    void setUp() {
+        originalLockingMode = ReflectionTestUtils.getField(targetService(), "lockingMode");
+
+        TestFixtures.addCustomerWithAccounts(bankingService, CUSTOMER_NUMBER, 10000L, ACCOUNT_A, ACCOUNT_B);
+    }
+
+    @AfterAll
+    void tearDown() {
+        ReflectionTestUtils.setField(targetService(), "lockingMode", originalLockingMode);
+    }
+
+    @Test
+    void testTransfer_WrittenBehind() {
+        // Arrange
+        ReflectionTestUtils.setField(targetService(), "lockingMode", AccountLockingMode.LEDGER);
+
+        // Act
+        assertEquals(HttpStatus.OK, bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 3025L), CUSTOMER_NUMBER).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 100000L), CUSTOMER_NUMBER).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, bankingService.transferDetails(new TransferDetails(ACCOUNT_A, 9301999L, 100L), CUSTOMER_NUMBER).getStatusCode());
+
+        // Assert: reads see the ledger before the flush, the database after it
+        assertEquals(6975L, (long) ((AccountInformation) bankingService.findByAccountNumber(ACCOUNT_A).getBody()).getAccountBalance());
+        ledgerEngine.flush();
+        assertEquals(6975L, accountRepository.findByAccountNumber(ACCOUNT_A).get().getAccountBalance());
+        assertEquals(13025L, accountRepository.findByAccountNumber(ACCOUNT_B).get().getAccountBalance());
+        assertEquals(1, transactionRepository.findByAccountNumber(ACCOUNT_A).get().size());
+        assertEquals(1, transactionRepository.findByAccountNumber(ACCOUNT_B).get().size());
+    }
+
+    @Test
+    void testDeleteCustomer_UnflushedTransfersArchived() {
+        // Arrange
+        ReflectionTestUtils.setField(targetService(), "lockingMode", AccountLockingMode.LEDGER);
+        Long customerNumber = 9302L;
+        Long accountC = 9302001L;
+        Long accountD = 9302002L;
+        TestFixtures.addCustomerWithAccounts(bankingService, customerNumber, 10000L, accountC, accountD);
+        assertEquals(HttpStatus.OK, bankingService.transferDetails(new TransferDetails(accountC, accountD, 500L), customerNumber).getStatusCode());
+
+        // Act
+        assertEquals(HttpStatus.OK, bankingService.deleteCustomer(customerNumber, true).getStatusCode());
+
+        // Assert: the journaled transfer was written and archived, the ledger no longer holds the accounts
+        assertEquals(2, transactionArchiveRepository.countByCustomerNumber(customerNumber));
+        assertNull(ledgerEngine.balanceCents(accountC));
+        assertEquals(HttpStatus.NOT_FOUND, bankingService.transferDetails(new TransferDetails(accountC, accountD, 100L), customerNumber).getStatusCode());
+    }
+
+    @Test
+    void testDeleteCustomer_AccountAddedBeforeHoldDeleted() throws Exception {
+        // Arrange: the deletion has read the customer's accounts and waits for their locks
+        ReflectionTestUtils.setField(targetService(), "lockingMode", AccountLockingMode.LEDGER);
+        Long customerNumber = 9304L;
+        Long accountG = 9304001L;
+        Long accountH = 9304002L;
+        TestFixtures.addCustomerWithAccounts(bankingService, customerNumber, 10000L, accountG);
+        List<Lock> held = accountLockManager.acquire(accountG);
+        FutureTask<ResponseEntity<Object>> deletion = new FutureTask<>(() -> bankingService.deleteCustomer(customerNumber, true));
+        Thread deleter = new Thread(deletion);
+        try {
+            deleter.start();
+            while (deleter.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            TestFixtures.addAccounts(bankingService, customerNumber, "Checking", 10000L, accountH);
+            assertEquals(HttpStatus.FOUND, bankingService.findByAccountNumber(accountH).getStatusCode());
+        } finally {
+            accountLockManager.release(held);
+        }
+
+        // Act
+        ResponseEntity<Object> response = deletion.get(30, TimeUnit.SECONDS);
+
+        // Assert: the account added meanwhile went with the customer and is not served from the cache
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(accountRepository.existsByAccountNumber(accountH));
+        assertEquals(HttpStatus.NOT_FOUND, bankingService.findByAccountNumber(accountH).getStatusCode());
+        assertNull(ledgerEngine.balanceCents(accountH));
+    }
+
+    @Test
+    void testIdempotentTransfer_DuplicateKeyRaceTransfersOnce() throws Exception {
+        // Arrange: every request passes the in-flight check, as if each ran on its own instance
+        ReflectionTestUtils.setField(targetService(), "lockingMode", AccountLockingMode.LEDGER);
+        Object inFlightKeys = ReflectionTestUtils.getField(transferIdempotencyStore, "inFlightKeys");
+        Set<String> everyRequestOnItsOwnInstance = new HashSet<String>() {
+            @Override
+            public boolean add(String key) {
+                return true;
+            }
+        };
+        ReflectionTestUtils.setField(transferIdempotencyStore, "inFlightKeys", everyRequestOnItsOwnInstance);
+        Long customerNumber = 9303L;
+        Long accountE = 9303001L;
+        Long accountF = 9303002L;
+        TestFixtures.addCustomerWithAccounts(bankingService, customerNumber, 10000L, accountE, accountF);
+        int requests = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<ResponseEntity<Object>>> tasks = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            tasks.add(() -> {
+                start.await();
+                return bankingService.transferDetails(new TransferDetails(accountE, accountF, 100L), customerNumber, "ledger-race-key");
+            });
+        }
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        int transferred = 0;
+        try {
+            List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+            for (Callable<ResponseEntity<Object>> task : tasks) {
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<Object>> result : results) {
+                ResponseEntity<Object> response = result.get();
+                assertTrue(response.getStatusCode() == HttpStatus.OK || response.getStatusCode() == HttpStatus.CONFLICT, String.valueOf(response));
+                if (response.getStatusCode() == HttpStatus.OK && !response.getHeaders().containsKey("Idempotent-Replayed")) {
+                    transferred++;
+                }
+            }
+        } finally {
+            executor.shutdown();
+            ReflectionTestUtils.setField(transferIdempotencyStore, "inFlightKeys", inFlightKeys);
+        }
+
+        // Assert: the losers of the race were turned away at the claim, before the ledger
+        assertEquals(1, transferred);
+        assertEquals(9900L, (long) ledgerEngine.balanceCents(accountE));
+        ledgerEngine.flush();
+        assertEquals(1, transactionRepository.findByAccountNumber(accountE).get().size());
+        assertEquals(HttpStatus.OK, bankingService.transferDetails(new TransferDetails(accountE, accountF, 100L), customerNumber, "ledger-race-key").getStatusCode());
+        assertEquals(9900L, (long) ledgerEngine.balanceCents(accountE));
+    }
+
+    @Test
+    void testJournal_RecoversAfterCheckpointAndDropsTornTail() throws Exception {
+        // Arrange
+        Path path = Files.createTempDirectory("ledger").resolve("ledger.journal");
+        try (LedgerJournal journal = LedgerJournal.open(path, true, 0)) {
+            for (int i = 0; i < 3; i++) {
+                journal.sync(journal.append(1L, 2L, 100L + i, 0L).getSequence());
+            }
+        }
+        Files.write(path, "4 1 2".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+
+        // Act
+        try (LedgerJournal journal = LedgerJournal.open(path, true, 1)) {
+            List<LedgerEntry> unflushed = journal.unflushed();
+
+            // Assert
+            assertEquals(2, unflushed.size());
+            assertEquals(2, unflushed.get(0).getSequence());
+            assertEquals(102L, unflushed.get(1).getAmountCents());
+            assertEquals(4, journal.append(1L, 2L, 1L, 0L).getSequence());
+
+            journal.remove(3);
+            assertEquals(0, Files.size(path));
+        }
+    }
+
+    private BankingServiceImpl targetService() {
+        return AopTestUtils.getTargetObject(bankingService);
+    }
+}
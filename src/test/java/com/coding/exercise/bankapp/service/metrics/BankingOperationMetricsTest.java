@@ -0,0 +1,101 @@
+package com.coding.exercise.bankapp.service.metrics;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.lock.AccountLockingMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BankingOperationMetricsTest {
+
+    private static final Long CUSTOMER_NUMBER = 9601L;
+    private static final Long ACCOUNT_A = 9601001L;
+    private static final Long ACCOUNT_B = 9601002L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    void setUp() {
+        TestFixtures.addCustomerWithAccounts(bankingService, CUSTOMER_NUMBER, 10000L, ACCOUNT_A, ACCOUNT_B);
+    }
+
+    @Test
+    void testTransferDetails_OutcomesCounted() {
+        // Arrange
+        double succeeded = outcomeCount("success");
+        double insufficientFunds = outcomeCount("insufficient_funds");
+        double badRequest = outcomeCount("bad_request");
+        double notFound = outcomeCount("not_found");
+
+        // Act
+        bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 100L), CUSTOMER_NUMBER);
+        bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 1000000L), CUSTOMER_NUMBER);
+        bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, -1L), CUSTOMER_NUMBER);
+        bankingService.transferDetails(new TransferDetails(ACCOUNT_A, 9601999L, 100L), CUSTOMER_NUMBER);
+
+        // Assert
+        assertEquals(succeeded + 1, outcomeCount("success"));
+        assertEquals(insufficientFunds + 1, outcomeCount("insufficient_funds"));
+        assertEquals(badRequest + 1, outcomeCount("bad_request"));
+        assertEquals(notFound + 1, outcomeCount("not_found"));
+        assertTrue(meterRegistry.get(BankingOperationMetrics.OPERATION).tag("operation", "transferDetails").timer().count() >= 4);
+    }
+
+    @Test
+    void testAtomicTransfer_LockingStatementsTimed() {
+        // Arrange
+        BankingServiceImpl target = AopTestUtils.getTargetObject(bankingService);
+        Object originalLockingMode = ReflectionTestUtils.getField(target, "lockingMode");
+        ReflectionTestUtils.setField(target, "lockingMode", AccountLockingMode.ATOMIC);
+        Timer lockStatement = meterRegistry.get(BankingOperationMetrics.LOCK_STATEMENT).tag("lock", "row").timer();
+        long recorded = lockStatement.count();
+
+        // Act
+        try {
+            bankingService.transferDetails(new TransferDetails(ACCOUNT_B, ACCOUNT_A, 100L), CUSTOMER_NUMBER);
+        } finally {
+            ReflectionTestUtils.setField(target, "lockingMode", originalLockingMode);
+        }
+
+        // Assert: the debit and the credit UPDATE
+        assertEquals(recorded + 2, lockStatement.count());
+        assertTrue(lockStatement.totalTime(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testFindTransactions_StatementsRecorded() {
+        // Act
+        bankingService.findTransactionsByAccountNumber(ACCOUNT_A);
+
+        // Assert
+        DistributionSummary statements = meterRegistry.get(BankingOperationMetrics.OPERATION_STATEMENTS)
+                .tag("operation", "findTransactionsByAccountNumber").summary();
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.totalAmount() >= 1);
+    }
+
+    private double outcomeCount(String outcome) {
+        Counter counter = meterRegistry.find(BankingOperationMetrics.OPERATION_OUTCOME)
+                .tag("operation", "transferDetails").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,270 @@
+package com.coding.exercise.bankapp.service.reconciliation;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.model.Account;
+import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.model.id.UuidStrategy;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReconciliationJobTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationJobTest.class);
+
+    private static final Long CUSTOMER_NUMBER = 9901L;
+    private static final long CONSISTENT_ACCOUNTS = 9901001L;
+    private static final long CORRUPTED_ACCOUNTS = 9902001L;
+    private static final long UNPAIRED_ACCOUNTS = 9903001L;
+    private static final long UNVERIFIED_ACCOUNT = 9904001L;
+    private static final Long SURVIVING_CUSTOMER = 9905L;
+    private static final Long DELETED_CUSTOMER = 9906L;
+    private static final int ACCOUNTS = 4;
+
+    private static final long BENCHMARK_FIRST_ACCOUNT = 7500000000L;
+    private static final int BENCHMARK_ACCOUNTS = 10000;
+    private static final int BENCHMARK_TRANSFERS_PER_ACCOUNT = 25;
+
+    @Autowired
+    private ReconciliationJob reconciliationJob;
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        bankingService.addCustomer(TestFixtures.customer(CUSTOMER_NUMBER));
+        for (long firstAccount : new long[]{CONSISTENT_ACCOUNTS, CORRUPTED_ACCOUNTS, UNPAIRED_ACCOUNTS}) {
+            for (int i = 0; i < ACCOUNTS; i++) {
+                bankingService.addNewAccount(TestFixtures.account(firstAccount + i, "Checking", 100000L), CUSTOMER_NUMBER);
+            }
+            for (int i = 0; i < 20; i++) {
+                bankingService.transferDetails(new TransferDetails(firstAccount + i % ACCOUNTS, firstAccount + (i + 1) % ACCOUNTS, 100L + i), CUSTOMER_NUMBER);
+            }
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from balance_snapshot where account_number >= ?", BENCHMARK_FIRST_ACCOUNT);
+        jdbcTemplate.update("delete from transaction where account_number >= ?", BENCHMARK_FIRST_ACCOUNT);
+        jdbcTemplate.update("delete from account where account_number >= ?", BENCHMARK_FIRST_ACCOUNT);
+    }
+
+    @Test
+    void testReconcile_Consistent() {
+        // Act
+        ReconciliationReport report = reconciliationJob.reconcile(CONSISTENT_ACCOUNTS, CONSISTENT_ACCOUNTS + ACCOUNTS);
+
+        // Assert
+        assertEquals(ACCOUNTS, report.getAccountsChecked());
+        assertEquals(40, report.getTransactionsChecked());
+        assertEquals(0, report.getAccountsUnverified());
+        assertEquals(0, report.getBalanceMismatchCount());
+        assertEquals(0, report.getUnmatchedTransferCount());
+    }
+
+    @Test
+    void testReconcile_CounterpartCustomerDeleted() {
+        // Arrange
+        // a transfer between two customers, then the receiving customer is deleted
+        TestFixtures.addCustomerWithAccounts(bankingService, SURVIVING_CUSTOMER, 100000L, 9905001L);
+        TestFixtures.addCustomerWithAccounts(bankingService, DELETED_CUSTOMER, 100000L, 9906001L);
+        assertEquals(HttpStatus.OK, bankingService.transferDetails(new TransferDetails(9905001L, 9906001L, 300L), SURVIVING_CUSTOMER).getStatusCode());
+        assertEquals(HttpStatus.OK, bankingService.deleteCustomer(DELETED_CUSTOMER).getStatusCode());
+
+        // Act
+        ReconciliationReport report = reconciliationJob.reconcile(9905001L, 9906002L);
+
+        // Assert
+        assertEquals(1, report.getAccountsChecked());
+        assertEquals(0, report.getBalanceMismatchCount());
+        assertEquals(0, report.getUnmatchedTransferCount());
+    }
+
+    @Test
+    void testReconcile_AccountWithoutSnapshotUnverified() {
+        // Arrange
+        // an account from before balance snapshots existed
+        accountRepository.save(Account.builder().accountNumber(UNVERIFIED_ACCOUNT).accountType("Checking").accountBalance(100000L).build());
+
+        // Act
+        ReconciliationReport report = reconciliationJob.reconcile(UNVERIFIED_ACCOUNT, UNVERIFIED_ACCOUNT + 1);
+
+        // Assert
+        assertEquals(0, report.getAccountsChecked());
+        assertEquals(1, report.getAccountsUnverified());
+        assertEquals(Collections.singletonList(UNVERIFIED_ACCOUNT), report.getUnverifiedAccounts());
+        assertEquals(0, report.getBalanceMismatchCount());
+    }
+
+    @Test
+    void testReconcile_CorruptedBalancesAndOrphanDebit() {
+        // Arrange
+        // a balance changed without a transaction, and a DEBIT whose balance change and CREDIT are missing
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                accountRepository.credit(CORRUPTED_ACCOUNTS, 5000L, new Date()));
+        transactionRepository.save(Transaction.builder().accountNumber(CORRUPTED_ACCOUNTS + 1).txType("DEBIT").txAmount(777L).txDateTime(new Date()).build());
+
+        // Act
+        ReconciliationReport report = reconciliationJob.reconcile(CORRUPTED_ACCOUNTS, CORRUPTED_ACCOUNTS + ACCOUNTS);
+
+        // Assert
+        assertEquals(2, report.getBalanceMismatchCount());
+        Map<Long, ReconciliationReport.BalanceMismatch> mismatches = new HashMap<>();
+        report.getBalanceMismatches().forEach(mismatch -> mismatches.put(mismatch.getAccountNumber(), mismatch));
+        assertEquals(5000L, mismatches.get(CORRUPTED_ACCOUNTS).getStoredBalance() - mismatches.get(CORRUPTED_ACCOUNTS).getExpectedBalance());
+        assertEquals(777L, mismatches.get(CORRUPTED_ACCOUNTS + 1).getStoredBalance() - mismatches.get(CORRUPTED_ACCOUNTS + 1).getExpectedBalance());
+
+        assertEquals(1, report.getUnmatchedTransferCount());
+        assertEquals(Long.valueOf(777L), report.getUnmatchedTransfers().get(0).getAmount());
+        assertEquals(1, report.getUnmatchedTransfers().get(0).getDebitsWithoutCredit());
+    }
+
+    @Test
+    void testTransfer_LegsLinkedByTransferId() {
+        // Arrange
+        Transaction debit = latestTransaction(CONSISTENT_ACCOUNTS, "DEBIT");
+
+        // Act
+        List<Transaction> legs = transactionRepository.findByTransferId(debit.getTransferId());
+
+        // Assert
+        assertEquals(2, legs.size());
+        Transaction credit = legs.stream().filter(leg -> "CREDIT".equals(leg.getTxType())).findFirst().orElseThrow();
+        assertEquals(debit.getCounterpartAccountNumber(), credit.getAccountNumber());
+        assertEquals(Long.valueOf(CONSISTENT_ACCOUNTS), credit.getCounterpartAccountNumber());
+        assertEquals(debit.getTxAmount(), credit.getTxAmount());
+    }
+
+    @Test
+    void testReconcile_LinkedCreditMissing() {
+        // Arrange
+        Transaction debit = latestTransaction(UNPAIRED_ACCOUNTS, "DEBIT");
+        transactionRepository.findByTransferId(debit.getTransferId()).stream()
+                .filter(leg -> "CREDIT".equals(leg.getTxType()))
+                .forEach(transactionRepository::delete);
+
+        // Act
+        ReconciliationReport report = reconciliationJob.reconcile(UNPAIRED_ACCOUNTS, UNPAIRED_ACCOUNTS + ACCOUNTS);
+
+        // Assert
+        assertEquals(1, report.getUnmatchedTransferCount());
+        assertTrue(report.getUnmatchedTransfers().isEmpty());
+        ReconciliationReport.UnpairedTransaction unpaired = report.getUnpairedTransactions().get(0);
+        assertEquals(debit.getTransferId(), unpaired.getTransferId());
+        assertEquals(Long.valueOf(UNPAIRED_ACCOUNTS), unpaired.getAccountNumber());
+        assertEquals("DEBIT", unpaired.getTxType());
+        // the CREDIT's balance change without its row
+        assertEquals(1, report.getBalanceMismatchCount());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkReconcileThroughput() {
+        // Arrange
+        insertTransfers();
+
+        // Act
+        long start = System.nanoTime();
+        ReconciliationReport report = reconciliationJob.reconcile(BENCHMARK_FIRST_ACCOUNT, BENCHMARK_FIRST_ACCOUNT + BENCHMARK_ACCOUNTS);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1000000);
+
+        log.info("reconciled {} accounts and {} transactions in {} ms: {} transactions/s",
+                report.getAccountsChecked(), report.getTransactionsChecked(), elapsedMillis,
+                Math.round(report.getTransactionsChecked() * 1000.0 / elapsedMillis));
+
+        // Assert
+        assertEquals(BENCHMARK_ACCOUNTS, report.getAccountsChecked());
+        assertEquals(2L * BENCHMARK_ACCOUNTS * BENCHMARK_TRANSFERS_PER_ACCOUNT, report.getTransactionsChecked());
+        assertEquals(0, report.getBalanceMismatchCount());
+        assertEquals(0, report.getUnmatchedTransferCount());
+    }
+
+    private Transaction latestTransaction(Long accountNumber, String txType) {
+        return transactionRepository.findByAccountNumber(accountNumber).orElseThrow().stream()
+                .filter(transaction -> txType.equals(transaction.getTxType()))
+                .max(Comparator.comparing(Transaction::getTxDateTime))
+                .orElseThrow();
+    }
+
+    /**
+     * Each account sends BENCHMARK_TRANSFERS_PER_ACCOUNT transfers to the next one, so every
+     * balance ends where it started.
+     */
+    private void insertTransfers() {
+        long openingBalance = 1000000L;
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        java.sql.Date today = java.sql.Date.valueOf(LocalDate.now(ZoneOffset.UTC));
+        Random random = new Random(42);
+        long[] amounts = new long[BENCHMARK_TRANSFERS_PER_ACCOUNT];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 1 + random.nextInt(10000);
+        }
+
+        List<Object[]> accounts = new ArrayList<>();
+        List<Object[]> snapshots = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_ACCOUNTS; i++) {
+            accounts.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), BENCHMARK_FIRST_ACCOUNT + i, openingBalance, 0L});
+            snapshots.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), BENCHMARK_FIRST_ACCOUNT + i, today, openingBalance, openingBalance});
+        }
+        jdbcTemplate.batchUpdate("insert into account (acct_id, account_number, account_balance, version) values (?, ?, ?, ?)", accounts);
+        jdbcTemplate.batchUpdate("insert into balance_snapshot (snapshot_id, account_number, snapshot_date, opening_balance, closing_balance) values (?, ?, ?, ?, ?)", snapshots);
+
+        List<Object[]> transactions = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_ACCOUNTS; i++) {
+            long from = BENCHMARK_FIRST_ACCOUNT + i;
+            long to = BENCHMARK_FIRST_ACCOUNT + (i + 1) % BENCHMARK_ACCOUNTS;
+            for (long amount : amounts) {
+                byte[] transferId = toBytes(UuidStrategy.TIME_ORDERED.next());
+                transactions.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), from, amount, now, "DEBIT", transferId, to});
+                transactions.add(new Object[]{toBytes(UuidStrategy.TIME_ORDERED.next()), to, amount, now, "CREDIT", transferId, from});
+            }
+            if (transactions.size() >= 10000) {
+                insertTransactions(transactions);
+                transactions.clear();
+            }
+        }
+        insertTransactions(transactions);
+    }
+
+    private void insertTransactions(List<Object[]> transactions) {
+        jdbcTemplate.batchUpdate("insert into transaction (tx_id, account_number, tx_amount, tx_date_time, tx_type, transfer_id, counterpart_account_number) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", transactions);
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,125 @@
+package com.coding.exercise.bankapp.service.snapshot;
+
+import com.coding.exercise.bankapp.TestFixtures;
+import com.coding.exercise.bankapp.domain.*;
+import com.coding.exercise.bankapp.model.Account;
+import com.coding.exercise.bankapp.model.Transaction;
+import com.coding.exercise.bankapp.service.BankingServiceImpl;
+import com.coding.exercise.bankapp.service.repository.AccountRepository;
+import com.coding.exercise.bankapp.service.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BalanceSnapshotStoreTest {
+
+    private static final Long CUSTOMER_NUMBER = 9801L;
+    private static final Long ACCOUNT_A = 9801001L;
+    private static final Long ACCOUNT_B = 9801002L;
+    private static final Long ACCOUNT_WITHOUT_SNAPSHOTS = 9801003L;
+
+    @Autowired
+    private BankingServiceImpl bankingService;
+    @Autowired
+    private BalanceSnapshotStore balanceSnapshotStore;
+    @Autowired
+    private AccountRepository accountRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void setUp() {
+        TestFixtures.addCustomerWithAccounts(bankingService, CUSTOMER_NUMBER, 10000L, ACCOUNT_A, ACCOUNT_B);
+    }
+
+    @Test
+    void testBalanceAsOf_SameDayTransfers() throws Exception {
+        // Arrange
+        Date beforeTransfers = new Date();
+        Thread.sleep(5);
+        bankingService.transferDetails(new TransferDetails(ACCOUNT_A, ACCOUNT_B, 1000L), CUSTOMER_NUMBER);
+        bankingService.transferDetails(new TransferDetails(ACCOUNT_B, ACCOUNT_A, 250L), CUSTOMER_NUMBER);
+        Thread.sleep(5);
+
+        // Act
+        ResponseEntity<Object> before = bankingService.findBalanceByAccountNumber(ACCOUNT_A, beforeTransfers);
+        ResponseEntity<Object> now = bankingService.findBalanceByAccountNumber(ACCOUNT_A, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, before.getStatusCode());
+        assertEquals(Long.valueOf(10000L), ((AccountBalance) before.getBody()).getBalance());
+        assertEquals(Long.valueOf(9250L), ((AccountBalance) now.getBody()).getBalance());
+        assertEquals(Long.valueOf(10750L), ((AccountBalance) bankingService.findBalanceByAccountNumber(ACCOUNT_B, null).getBody()).getBalance());
+    }
+
+    @Test
+    void testBalanceAsOf_HistoryBeforeSnapshots() {
+        // Arrange
+        // An account from before snapshots existed: its balance already includes a CREDIT of 700
+        // three days ago; then a DEBIT of 200 two days ago is written with its snapshot
+        accountRepository.save(Account.builder().accountNumber(ACCOUNT_WITHOUT_SNAPSHOTS).accountType("Checking").accountBalance(10000L).build());
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        transactionRepository.save(transaction("CREDIT", 700L, at(today.minusDays(3), 10)));
+
+        Transaction debit = transaction("DEBIT", 200L, at(today.minusDays(2), 10));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accountRepository.credit(ACCOUNT_WITHOUT_SNAPSHOTS, -200L, new Date());
+            transactionRepository.save(debit);
+            balanceSnapshotStore.record(Collections.singletonList(debit));
+        });
+
+        // Act & Assert
+        assertEquals(Long.valueOf(9300L), balanceAsOf(at(today.minusDays(4), 12)));
+        assertEquals(Long.valueOf(10000L), balanceAsOf(at(today.minusDays(3), 12)));
+        assertEquals(Long.valueOf(10000L), balanceAsOf(at(today.minusDays(2), 9)));
+        assertEquals(Long.valueOf(9800L), balanceAsOf(at(today.minusDays(2), 11)));
+        assertEquals(Long.valueOf(9800L), balanceAsOf(at(today.minusDays(1), 12)));
+    }
+
+    @Test
+    void testBalanceAsOf_AccountNotFound() {
+        // Act
+        ResponseEntity<Object> response = bankingService.findBalanceByAccountNumber(9801999L, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testBalanceAsOf_BeforeAccountOpened() {
+        // Act
+        ResponseEntity<Object> response = bankingService.findBalanceByAccountNumber(ACCOUNT_A, at(LocalDate.now(ZoneOffset.UTC).minusDays(1), 12));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private Long balanceAsOf(Date asOf) {
+        return ((AccountBalance) bankingService.findBalanceByAccountNumber(ACCOUNT_WITHOUT_SNAPSHOTS, asOf).getBody()).getBalance();
+    }
+
+    private static Transaction transaction(String txType, long amount, Date txDateTime) {
+        return Transaction.builder().accountNumber(ACCOUNT_WITHOUT_SNAPSHOTS).txType(txType).txAmount(amount).txDateTime(txDateTime).build();
+    }
+
+    private static Date at(LocalDate day, int hour) {
+        return Date.from(day.atTime(hour, 0).toInstant(ZoneOffset.UTC));
+    }
+}